@@ -0,0 +1,81 @@
+package com.qaautomationframework.qa.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files (e.g. benchmarks/results/&lt;commit&gt;.json) and exits with status 1 when a
+ * benchmark got worse by more than the threshold percentage and by more than the two error margins combined.
+ * <p>
+ * Usage: BenchmarkComparison &lt;baseline.json&gt; &lt;current.json&gt; [thresholdPercent, default 10]
+ */
+public class BenchmarkComparison {
+
+    private record Score(String mode, double score, double error, String unit) {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkComparison <baseline.json> <current.json> [thresholdPercent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        Map<String, Score> baseline = read(new File(args[0]));
+        Map<String, Score> current = read(new File(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-80s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score after = entry.getValue();
+            Score before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-80s %14s %14.3f %9s%n", entry.getKey(), "-", after.score(), "new");
+                continue;
+            }
+            double change = (after.score() - before.score()) / before.score() * 100;
+            // Throughput is better when higher, every other JMH mode measures time
+            double worsening = "thrpt".equals(after.mode()) ? -change : change;
+            boolean significant = Math.abs(after.score() - before.score()) > before.error() + after.error();
+            boolean regressed = worsening > threshold && significant;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-80s %14.3f %14.3f %+8.1f%% %s%s%n", entry.getKey(), before.score(), after.score(),
+                    change, after.unit(), regressed ? "  REGRESSION" : "");
+        }
+        baseline.keySet().stream().filter(key -> !current.containsKey(key))
+                .forEach(key -> System.out.printf("%-80s %14.3f %14s %9s%n", key, baseline.get(key).score(), "-",
+                        "removed"));
+
+        System.out.println(regressions == 0 ? "No regressions above " + threshold + "%"
+                : regressions + " benchmark(s) regressed by more than " + threshold + "%");
+        System.exit(regressions == 0 ? 0 : 1);
+    }
+
+    private static Map<String, Score> read(File file) throws IOException {
+        Map<String, Score> scores = new TreeMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            JsonNode metric = result.path("primaryMetric");
+            // JMH writes "NaN" when there were too few iterations to compute an error
+            double error = metric.path("scoreError").asDouble(0);
+            scores.put(key(result), new Score(result.path("mode").asText(), metric.path("score").asDouble(),
+                    Double.isNaN(error) ? 0 : error, metric.path("scoreUnit").asText()));
+        }
+        return scores;
+    }
+
+    private static String key(JsonNode result) {
+        String benchmark = result.path("benchmark").asText().replaceFirst("^.*\\.benchmarks\\.", "");
+        Map<String, String> params = new LinkedHashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = result.path("params").fields();
+        fields.forEachRemaining(field -> params.put(field.getKey(), field.getValue().asText()));
+        return params.isEmpty() ? benchmark : benchmark + params;
+    }
+}
@@ -0,0 +1,61 @@
+package com.qaautomationframework.qa.benchmarks;
+
+import com.qaautomationframework.qa.pages.AmazonCartPage;
+import com.qaautomationframework.qa.utils.PriceParser;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AmazonCartPage.getItemsTotal over a stubbed driver, so only the Java side of the cart check is measured
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CartTotalBenchmark {
+    private static final String[] PRICE_FORMATS = { "EGP 1,234.50", "EGP 899\n00", "1.234,50 €", "١٬٢٣٤٫٥٠ ج.م" };
+
+    @Param({ "1", "10", "50" })
+    public int items;
+
+    private AmazonCartPage cartPage;
+
+    @Setup
+    public void createCart() {
+        // getItemsTotal logs every price at info, which would measure the log appenders instead
+        Configurator.setRootLevel(Level.WARN);
+        List<String> prices = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            prices.add(PRICE_FORMATS[i % PRICE_FORMATS.length]);
+        }
+        cartPage = new AmazonCartPage(new StubWebDriver(prices));
+    }
+
+    @Benchmark
+    public BigDecimal getItemsTotal() {
+        return cartPage.getItemsTotal();
+    }
+
+    @Benchmark
+    public long parseOnePrice() {
+        return PriceParser.parseMinorUnits(PRICE_FORMATS[0]);
+    }
+}
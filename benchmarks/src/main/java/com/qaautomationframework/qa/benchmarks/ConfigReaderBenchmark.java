@@ -0,0 +1,42 @@
+package com.qaautomationframework.qa.benchmarks;
+
+import com.qaautomationframework.qa.config.ConfigReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Raw and typed configuration lookups, which page objects and waits do on every call
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConfigReaderBenchmark {
+
+    @Setup
+    public void loadConfiguration() {
+        ConfigReader.snapshot();
+    }
+
+    @Benchmark
+    public String getProperty() {
+        return ConfigReader.getProperty("browser");
+    }
+
+    @Benchmark
+    public int typedGetter() {
+        return ConfigReader.getExplicitWait();
+    }
+}
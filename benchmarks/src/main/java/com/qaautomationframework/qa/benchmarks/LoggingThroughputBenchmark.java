@@ -0,0 +1,108 @@
+package com.qaautomationframework.qa.benchmarks;
+
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.ConfigurationSource;
+import org.apache.logging.log4j.core.config.xml.XmlConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Messages per second when many scenario threads log at once: the old synchronous file logging against the
+ * async, per-scenario routed setup of log4j2.xml. Each benchmark thread logs under a scenario key of its own,
+ * as the scenario threads do. With 1 s iterations the async ring buffer fills up, so its score is close to
+ * the rate the appenders drain rather than only the cost to the caller. Vary the thread count with -t,
+ * e.g. {@code java -jar benchmarks/target/benchmarks.jar LoggingThroughput -t 1}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class LoggingThroughputBenchmark {
+    private static final String OUTPUT_DIR = "target/log-benchmark";
+
+    private static final String CONFIG_TEMPLATE = "<Configuration status=\"WARN\">"
+            + "<Appenders>"
+            + "<File name=\"File\" fileName=\"" + OUTPUT_DIR + "/%s/all.log\" immediateFlush=\"%s\">"
+            + "<PatternLayout pattern=\"%%d{HH:mm:ss.SSS} [%%t] %%-5level %%logger{36} - %%msg%%n\"/></File>"
+            + "<Routing name=\"ScenarioFile\"><Routes pattern=\"$${ctx:scenario}\">"
+            + "<Route><File name=\"Scenario-${ctx:scenario}\" fileName=\"" + OUTPUT_DIR
+            + "/%s/${ctx:scenario}.log\" immediateFlush=\"%s\">"
+            + "<PatternLayout pattern=\"%%d{HH:mm:ss.SSS} [%%t] %%-5level %%logger{36} - %%msg%%n\"/></File>"
+            + "</Route></Routes></Routing>"
+            + "</Appenders>"
+            + "<Loggers><%s level=\"info\" includeLocation=\"false\">"
+            + "<AppenderRef ref=\"File\"/><AppenderRef ref=\"ScenarioFile\"/></%s></Loggers>"
+            + "</Configuration>";
+
+    /**
+     * sync: Root logger with immediateFlush, as before; async: AsyncRoot without immediateFlush, as log4j2.xml
+     */
+    @Param({"sync", "async"})
+    public String mode;
+
+    private LoggerContext context;
+    private Logger logger;
+
+    @State(Scope.Thread)
+    public static class Scenario {
+        private String name;
+        private long message;
+
+        // Runs on the benchmark thread itself, so the key is in that thread's context
+        @Setup
+        public void enter() {
+            name = "scenario-" + Thread.currentThread().getId();
+            ThreadContext.put("scenario", name);
+        }
+
+        @TearDown
+        public void leave() {
+            ThreadContext.clearMap();
+        }
+    }
+
+    @Setup
+    public void startContext() throws IOException {
+        boolean async = "async".equals(mode);
+        String rootElement = async ? "AsyncRoot" : "Root";
+        String dir = mode + "-" + System.currentTimeMillis();
+        String xml = String.format(CONFIG_TEMPLATE, dir, !async, dir, !async, rootElement, rootElement);
+
+        context = new LoggerContext(dir);
+        context.start(new XmlConfiguration(context,
+                new ConfigurationSource(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)))));
+        logger = context.getLogger("benchmark");
+    }
+
+    @TearDown
+    public void stopContext() {
+        // Drains the ring buffer and flushes the files
+        context.stop();
+    }
+
+    @Benchmark
+    public void logMessage(Scenario scenario) {
+        logger.info("Clicked element {} matching: {}", scenario.message++, scenario.name);
+    }
+}
@@ -0,0 +1,45 @@
+package com.qaautomationframework.qa.benchmarks;
+
+import com.qaautomationframework.qa.api.pojos.User;
+import com.qaautomationframework.qa.utils.ApiUtils;
+import io.restassured.specification.RequestSpecification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request RequestSpecification construction in ApiUtils; nothing is sent
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dapi.mode=live")
+@State(Scope.Benchmark)
+public class RequestSpecBenchmark {
+    private final User user = new User("morpheus", "leader", 35);
+
+    @Setup
+    public void buildBaseSpec() {
+        ApiUtils.getRequestSpec();
+    }
+
+    @Benchmark
+    public RequestSpecification getRequestSpec() {
+        return ApiUtils.getRequestSpec();
+    }
+
+    @Benchmark
+    public RequestSpecification getRequestSpecWithPathParamAndBody() {
+        return ApiUtils.getRequestSpec().pathParam("id", "2").body(user);
+    }
+}
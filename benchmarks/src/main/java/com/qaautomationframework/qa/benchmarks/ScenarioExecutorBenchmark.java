@@ -0,0 +1,106 @@
+package com.qaautomationframework.qa.benchmarks;
+
+import com.qaautomationframework.qa.runners.ScenarioExecutors;
+import com.qaautomationframework.qa.utils.ApiUtils;
+import io.cucumber.testng.CucumberOptions;
+import io.cucumber.testng.PickleWrapper;
+import io.cucumber.testng.TestNGCucumberRunner;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wall time to run the @api scenarios, repeated up to a scenario count, against the in-process stub (50 ms
+ * per request) on a fixed pool of platform threads and on virtual threads. The step definitions, executors
+ * and feature files come from the framework's test jar. The virtual rows need a Java 21 JVM and fail on an
+ * older one; pass {@code -p executor=platform} there. The virtual rows have not been run yet: the recorded
+ * baseline is from Java 17 and has platform rows only.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Dapi.mode=stub", "-Dapi.stub.latency.ms=50",
+        // Let the HTTP pool, not the connection limit, decide how much runs concurrently
+        "-Dapi.http.max.connections.per.route=2000", "-Dapi.http.max.connections.total=2000"})
+@State(Scope.Benchmark)
+@CucumberOptions(
+        features = "classpath:features/UserApi.feature",
+        glue = {"com.qaautomationframework.qa.stepdefinitions"},
+        tags = "@api",
+        monochrome = true)
+public class ScenarioExecutorBenchmark {
+
+    @Param({"platform", "virtual"})
+    public String executor;
+
+    @Param({"60", "600"})
+    public int scenarios;
+
+    @Param("32")
+    public int platformThreads;
+
+    private TestNGCucumberRunner cucumber;
+    private Object[][] pickles;
+
+    @Setup
+    public void loadScenarios() {
+        if ("virtual".equals(executor) && !ScenarioExecutors.virtualThreadsAvailable()) {
+            throw new IllegalStateException("Virtual threads need Java 21, running on "
+                    + System.getProperty("java.version") + "; pass -p executor=platform");
+        }
+        Configurator.setRootLevel(Level.WARN);
+        ApiUtils.getRequestSpec();
+        // Not getClass(): JMH runs a generated subclass, which does not carry @CucumberOptions
+        cucumber = new TestNGCucumberRunner(ScenarioExecutorBenchmark.class);
+        pickles = cucumber.provideScenarios();
+    }
+
+    @TearDown
+    public void finish() {
+        cucumber.finish();
+    }
+
+    /**
+     * @return the number of failed scenarios
+     */
+    @Benchmark
+    public int runScenarios() throws InterruptedException {
+        ExecutorService pool = "virtual".equals(executor)
+                ? ScenarioExecutors.newVirtualThreadExecutor()
+                : ScenarioExecutors.newPlatformThreadExecutor(platformThreads);
+        List<Future<?>> results = new ArrayList<>(scenarios);
+        for (int i = 0; i < scenarios; i++) {
+            PickleWrapper pickle = (PickleWrapper) pickles[i % pickles.length][0];
+            results.add(pool.submit(() -> cucumber.runScenario(pickle.getPickle())));
+        }
+        pool.shutdown();
+        int failed = 0;
+        for (Future<?> result : results) {
+            try {
+                result.get();
+            } catch (ExecutionException e) {
+                failed++;
+            }
+        }
+        return failed;
+    }
+}
@@ -0,0 +1,125 @@
+package com.qaautomationframework.qa.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.qaautomationframework.qa.api.pojos.User;
+import com.qaautomationframework.qa.api.pojos.UserResponse;
+import com.qaautomationframework.qa.utils.JsonCodec;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.internal.mapping.Jackson2Mapper;
+import io.restassured.internal.mapping.ObjectMapperSerializationContextImpl;
+import io.restassured.path.json.mapper.factory.DefaultJackson2ObjectMapperFactory;
+import io.restassured.response.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson (de)serialization of the API POJOs: with a shared ObjectMapper, with one built per call, through
+ * RestAssured's default Jackson mapper (what ApiUtils used before JsonCodec) and through JsonCodec's cached
+ * reader/writer, with and without Blackbird. Blackbird needs the module on the classpath; without it the
+ * blackbird=true rows measure the plain mapper.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserJsonBenchmark {
+    private static final String USER_JSON =
+            "{\"id\":\"742\",\"name\":\"morpheus\",\"job\":\"leader\",\"age\":35,\"createdAt\":\"2024-01-01T10:00:00.000Z\"}";
+    private static final String USER_RESPONSE_JSON =
+            "{\"data\":{\"id\":2,\"email\":\"janet.weaver@reqres.in\",\"first_name\":\"Janet\",\"last_name\":\"Weaver\","
+                    + "\"avatar\":\"https://reqres.in/img/faces/2-image.jpg\"},"
+                    + "\"support\":{\"url\":\"https://reqres.in/#support-heading\",\"text\":\"Support\"}}";
+
+    @Param({ "false", "true" })
+    public boolean blackbird;
+
+    private final User user = new User("morpheus", "leader", 35);
+    private final byte[] userResponseBytes = USER_RESPONSE_JSON.getBytes(StandardCharsets.UTF_8);
+
+    private ObjectMapper mapper;
+    private ObjectWriter userWriter;
+    private ObjectReader userReader;
+    private ObjectReader userResponseReader;
+    private Jackson2Mapper restAssuredMapper;
+    private ObjectMapperSerializationContextImpl restAssuredContext;
+    private Response restAssuredResponse;
+
+    @Setup
+    public void createMappers() {
+        mapper = JsonCodec.createMapper(blackbird);
+        userWriter = mapper.writerFor(User.class);
+        userReader = mapper.readerFor(User.class);
+        userResponseReader = mapper.readerFor(UserResponse.class);
+
+        restAssuredMapper = new Jackson2Mapper(new DefaultJackson2ObjectMapperFactory());
+        restAssuredContext = new ObjectMapperSerializationContextImpl();
+        restAssuredContext.setObject(user);
+        restAssuredContext.setContentType("application/json");
+        restAssuredContext.setCharset("UTF-8");
+        restAssuredResponse = new ResponseBuilder().setStatusCode(200).setContentType("application/json")
+                .setBody(userResponseBytes).build();
+    }
+
+    @Benchmark
+    public String serializeUser() throws JsonProcessingException {
+        return mapper.writeValueAsString(user);
+    }
+
+    @Benchmark
+    public byte[] serializeUserToBytesWithCachedWriter() throws JsonProcessingException {
+        return userWriter.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public Object serializeUserWithRestAssuredMapper() {
+        return restAssuredMapper.serialize(restAssuredContext);
+    }
+
+    @Benchmark
+    public User deserializeUser() throws JsonProcessingException {
+        return mapper.readValue(USER_JSON, User.class);
+    }
+
+    @Benchmark
+    public User deserializeUserWithCachedReader() throws JsonProcessingException {
+        return userReader.readValue(USER_JSON);
+    }
+
+    @Benchmark
+    public UserResponse deserializeUserResponse() throws JsonProcessingException {
+        return mapper.readValue(USER_RESPONSE_JSON, UserResponse.class);
+    }
+
+    @Benchmark
+    public UserResponse deserializeUserResponseFromBytesWithCachedReader() throws IOException {
+        return userResponseReader.readValue(userResponseBytes);
+    }
+
+    @Benchmark
+    public UserResponse deserializeUserResponseWithRestAssuredMapper() {
+        return restAssuredResponse.as(UserResponse.class);
+    }
+
+    @Benchmark
+    public UserResponse deserializeUserResponseWithNewMapper() throws JsonProcessingException {
+        return new ObjectMapper().readValue(USER_RESPONSE_JSON, UserResponse.class);
+    }
+}
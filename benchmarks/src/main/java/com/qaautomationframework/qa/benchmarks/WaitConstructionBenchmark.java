@@ -0,0 +1,57 @@
+package com.qaautomationframework.qa.benchmarks;
+
+import com.qaautomationframework.qa.utils.WaitEngine;
+import com.qaautomationframework.qa.utils.WebElementUtils;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of the WebElementUtils waits when the element is already there: engine lookup, condition
+ * construction, one poll and the wait metrics
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WaitConstructionBenchmark {
+    private final WebDriver driver = new StubWebDriver(null);
+    private final By locator = By.cssSelector("div.sc-list-item");
+
+    @Setup
+    public void quietLogging() {
+        // Keep any info logging on the wait path out of the measurement
+        Configurator.setRootLevel(Level.WARN);
+    }
+
+    @Benchmark
+    public WaitEngine waitEngineLookup() {
+        return WaitEngine.forDriver(driver);
+    }
+
+    @Benchmark
+    public WebElement waitForElementToBeVisible() {
+        return WebElementUtils.waitForElementToBeVisible(driver, locator);
+    }
+
+    @Benchmark
+    public WebElement waitForElementToBeClickable() {
+        return WebElementUtils.waitForElementToBeClickable(driver, locator);
+    }
+}
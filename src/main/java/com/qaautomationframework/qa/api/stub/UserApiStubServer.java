@@ -0,0 +1,209 @@
+package com.qaautomationframework.qa.api.stub;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.qaautomationframework.qa.api.endpoints.ApiEndpoints;
+import com.qaautomationframework.qa.config.ConfigReader;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process stand-in for reqres.in that serves the {@link ApiEndpoints#USERS_BASE} routes, so the API
+ * scenarios run without network access. GET answers come from the users recorded in stub/users.json,
+ * POST/PUT/DELETE follow the same rules as the live service (echo the body with id/createdAt/updatedAt,
+ * 204 on delete, 404 with an empty object for unknown users).
+ */
+public class UserApiStubServer {
+    private static final Logger logger = LogManager.getLogger(UserApiStubServer.class);
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final String USERS_FIXTURE = "/stub/users.json";
+    private static UserApiStubServer instance;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<Integer, Map<String, Object>> users = new LinkedHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger(100);
+    private final long latencyMillis;
+    private final long latencyJitterMillis;
+
+    private UserApiStubServer(int port, long latencyMillis, long latencyJitterMillis) throws IOException {
+        this.latencyMillis = latencyMillis;
+        this.latencyJitterMillis = latencyJitterMillis;
+        loadUsers();
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "api-stub-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext(ApiEndpoints.USERS_BASE, this::handle);
+        server.start();
+    }
+
+    /**
+     * Start the shared stub on api.stub.port (0 picks a free port) unless it is already running
+     *
+     * @return base URL to use as api.base.url, e.g. http://127.0.0.1:41234
+     */
+    public static synchronized String ensureStarted() {
+        if (instance == null) {
+            try {
+                instance = new UserApiStubServer(ConfigReader.getApiStubPort(), ConfigReader.getApiStubLatency(),
+                        ConfigReader.getApiStubLatencyJitter());
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to start API stub server", e);
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(UserApiStubServer::stop));
+            logger.info("API stub server listening on " + instance.getBaseUrl());
+        }
+        return instance.getBaseUrl();
+    }
+
+    public static synchronized void stop() {
+        if (instance != null) {
+            instance.server.stop(0);
+            instance.executor.shutdownNow();
+            instance = null;
+        }
+    }
+
+    public String getBaseUrl() {
+        InetSocketAddress address = server.getAddress();
+        return "http://" + address.getAddress().getHostAddress() + ":" + address.getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            injectLatency();
+            // Always drain the request, otherwise HttpServer drops the keep-alive connection after a 204
+            byte[] requestBody = readFully(exchange);
+            String path = exchange.getRequestURI().getPath();
+            String id = path.length() > ApiEndpoints.USERS_BASE.length()
+                    ? path.substring(ApiEndpoints.USERS_BASE.length() + 1)
+                    : null;
+
+            switch (exchange.getRequestMethod()) {
+                case "POST":
+                    Map<String, Object> created = parseBody(requestBody);
+                    created.putIfAbsent("id", String.valueOf(nextId.getAndIncrement()));
+                    created.put("createdAt", now());
+                    respond(exchange, 201, created);
+                    break;
+                case "GET":
+                    Map<String, Object> user = id != null ? findUser(id) : null;
+                    if (user != null) {
+                        respond(exchange, 200, Map.of("data", user));
+                    } else {
+                        respond(exchange, 404, Map.of());
+                    }
+                    break;
+                case "PUT":
+                case "PATCH":
+                    Map<String, Object> updated = parseBody(requestBody);
+                    updated.put("updatedAt", now());
+                    respond(exchange, 200, updated);
+                    break;
+                case "DELETE":
+                    exchange.sendResponseHeaders(204, -1);
+                    break;
+                default:
+                    respond(exchange, 405, Map.of());
+            }
+        } catch (JsonProcessingException e) {
+            // Answered like reqres does, instead of dropping the connection, which clients would retry
+            logger.warn("API stub got a malformed body for " + exchange.getRequestURI() + ": "
+                    + e.getOriginalMessage());
+            respond(exchange, 400, Map.of("error", "Malformed JSON body: " + e.getOriginalMessage()));
+        } catch (RuntimeException e) {
+            logger.error("API stub failed to handle " + exchange.getRequestURI() + ": " + e.getMessage());
+            exchange.sendResponseHeaders(500, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private Map<String, Object> findUser(String id) {
+        try {
+            return users.get(Integer.parseInt(id));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private byte[] readFully(HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            return body.readAllBytes();
+        }
+    }
+
+    private Map<String, Object> parseBody(byte[] bytes) throws IOException {
+        if (bytes.length == 0) {
+            return new LinkedHashMap<>();
+        }
+        return mapper.readValue(bytes, new TypeReference<LinkedHashMap<String, Object>>() {
+        });
+    }
+
+    private void respond(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = mapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private void injectLatency() {
+        long delay = latencyMillis
+                + (latencyJitterMillis > 0 ? ThreadLocalRandom.current().nextLong(latencyJitterMillis + 1) : 0);
+        if (delay <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void loadUsers() throws IOException {
+        try (InputStream fixture = UserApiStubServer.class.getResourceAsStream(USERS_FIXTURE)) {
+            if (fixture == null) {
+                throw new IOException("Stub fixture not found on classpath: " + USERS_FIXTURE);
+            }
+            List<Map<String, Object>> recorded = mapper.readValue(
+                    new String(fixture.readAllBytes(), StandardCharsets.UTF_8),
+                    new TypeReference<List<Map<String, Object>>>() {
+                    });
+            for (Map<String, Object> user : recorded) {
+                users.put(((Number) user.get("id")).intValue(), user);
+            }
+        }
+    }
+
+    private static String now() {
+        return Instant.now().truncatedTo(ChronoUnit.MILLIS).toString();
+    }
+}
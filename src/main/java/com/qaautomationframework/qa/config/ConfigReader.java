@@ -3,41 +3,139 @@ package com.qaautomationframework.qa.config;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.io.FileInputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.List;
 import java.util.Properties;
 
+/**
+ * Static access to the current {@link ConfigSnapshot}. Values are resolved once, on first use, in this order:
+ * system property, QA_-prefixed environment variable (api.base.url as QA_API_BASE_URL), then either a snapshot shipped by
+ * the coordinator in config.snapshot, or config-&lt;profile&gt;.properties when config.profile is set followed
+ * by config.properties. Files are looked up at config.location (classpath:, file: or http: URI of the base
+ * file), by default on the classpath. The snapshot is fixed for the life of the JVM, since callers keep
+ * values such as timeouts and pool sizes in static fields.
+ */
 public class ConfigReader {
     private static final Logger logger = LogManager.getLogger(ConfigReader.class);
-    private static Properties properties;
-    private static final String CONFIG_FILE_PATH = "src/test/resources/config.properties";
+    private static final String DEFAULT_LOCATION = "classpath:config.properties";
+    private static final String SNAPSHOT_KEY = "config.snapshot";
+    // Namespaced so variables such as BROWSER or API_KEY that the shell sets for other tools are not picked up
+    private static final String ENV_PREFIX = "QA_";
 
-    static {
-        loadProperties();
+    /**
+     * Loaded on first access, not when ConfigReader itself is initialized
+     */
+    private static class Holder {
+        private static final ConfigSnapshot snapshot = load();
     }
 
-    private static void loadProperties() {
-        try {
-            properties = new Properties();
-            FileInputStream fis = new FileInputStream(CONFIG_FILE_PATH);
-            properties.load(fis);
-            fis.close();
-            logger.info("Configuration properties loaded successfully");
+    public static ConfigSnapshot snapshot() {
+        return Holder.snapshot;
+    }
+
+    /**
+     * The resolved configuration as one Base64 string. Pass it to a worker as -Dconfig.snapshot=... or
+     * QA_CONFIG_SNAPSHOT=... and the worker uses it instead of reading any configuration file. Secrets
+     * ({@link ConfigSnapshot#SECRET_KEYS}) are left out; give them to the worker as QA_AMAZON_EMAIL,
+     * QA_AMAZON_PASSWORD and QA_API_KEY.
+     */
+    public static String exportSnapshot() {
+        return snapshot().encode();
+    }
+
+    private static ConfigSnapshot load() {
+        Properties properties;
+        String source;
+        String shipped = lookupOverride(SNAPSHOT_KEY);
+        String profile = lookupOverride("config.profile");
+        if (shipped != null && !shipped.isBlank()) {
+            properties = ConfigSnapshot.decode(shipped.trim());
+            source = "shipped snapshot";
+        } else {
+            String location = lookupOverride("config.location");
+            URI base = URI.create(location != null ? location.trim() : DEFAULT_LOCATION);
+            properties = read(base);
+            source = base.toString();
+            if (profile != null && !profile.isBlank()) {
+                properties.putAll(read(sibling(base, "config-" + profile.trim() + ".properties")));
+                source += " (profile: " + profile.trim() + ")";
+            }
+        }
+
+        ConfigSnapshot loaded = new ConfigSnapshot(key -> {
+            String override = lookupOverride(key);
+            return override != null ? override : properties.getProperty(key);
+        }, properties.stringPropertyNames());
+
+        for (String key : loaded.asMap().keySet()) {
+            if (System.getProperty(key) != null) {
+                logger.info("Using system property: " + key + " = "
+                        + (ConfigSnapshot.SECRET_KEYS.contains(key) ? "[REDACTED]" : System.getProperty(key)));
+            } else if (System.getenv(envName(key)) != null) {
+                logger.info("Using environment variable: " + envName(key) + " for " + key);
+            }
+        }
+        logger.info("Configuration properties loaded successfully from " + source);
+        return loaded;
+    }
+
+    private static Properties read(URI location) {
+        Properties properties = new Properties();
+        try (InputStream in = open(location)) {
+            properties.load(in);
         } catch (IOException e) {
             logger.error("Failed to load configuration properties: " + e.getMessage());
-            throw new RuntimeException("Configuration file not found at: " + CONFIG_FILE_PATH);
+            throw new RuntimeException("Configuration file not found at: " + location, e);
         }
+        return properties;
     }
 
-    public static String getProperty(String key) {
+    private static InputStream open(URI location) throws IOException {
+        if (!"classpath".equals(location.getScheme())) {
+            return location.toURL().openStream();
+        }
+        String resource = location.getSchemeSpecificPart().replaceFirst("^/+", "");
+        InputStream in = Thread.currentThread().getContextClassLoader() != null
+                ? Thread.currentThread().getContextClassLoader().getResourceAsStream(resource)
+                : null;
+        if (in == null) {
+            in = ConfigReader.class.getClassLoader().getResourceAsStream(resource);
+        }
+        if (in == null) {
+            throw new FileNotFoundException(resource + " not found on the classpath; the defaults ship in the"
+                    + " framework jar (src/main/resources), or set config.location to a file: or http: URI");
+        }
+        return in;
+    }
 
-        String systemValue = System.getProperty(key);
-        if (systemValue != null) {
-            logger.info("Using system property: " + key + " = " + systemValue);
-            return systemValue;
+    private static URI sibling(URI base, String fileName) {
+        if ("classpath".equals(base.getScheme())) {
+            String path = base.getSchemeSpecificPart();
+            return URI.create("classpath:" + path.substring(0, path.lastIndexOf('/') + 1) + fileName);
         }
+        return base.resolve(fileName);
+    }
+
+    /**
+     * Value given for key as a system property or QA_ environment variable, null when neither is set
+     */
+    public static String lookupOverride(String key) {
+        String systemValue = System.getProperty(key);
+        return systemValue != null ? systemValue : System.getenv(envName(key));
+    }
 
-        String value = properties.getProperty(key);
+    private static String envName(String key) {
+        return ENV_PREFIX + key.toUpperCase().replace('.', '_').replace('-', '_');
+    }
+
+    /**
+     * Raw value of any configured key, null when it is not set
+     */
+    public static String getProperty(String key) {
+        String value = Holder.snapshot.get(key);
         if (value == null) {
             logger.warn("Property key not found: " + key);
         }
@@ -45,56 +143,318 @@ public class ConfigReader {
     }
 
     public static String getBrowser() {
-        return getProperty("browser");
+        return Holder.snapshot.getBrowser();
     }
 
     public static boolean isHeadless() {
-        return Boolean.parseBoolean(getProperty("headless"));
+        return Holder.snapshot.isHeadless();
+    }
+
+    public static boolean isResourceBlockingEnabled() {
+        return Holder.snapshot.isResourceBlockingEnabled();
+    }
+
+    public static List<String> getResourceBlockingTypes() {
+        return Holder.snapshot.getResourceBlockingTypes();
+    }
+
+    public static List<String> getResourceBlockingPatterns() {
+        return Holder.snapshot.getResourceBlockingPatterns();
+    }
+
+    public static boolean isLoginCacheEnabled() {
+        return Holder.snapshot.isLoginCacheEnabled();
+    }
+
+    public static int getLoginCacheTtlMinutes() {
+        return Holder.snapshot.getLoginCacheTtlMinutes();
     }
 
     public static String getAmazonUrl() {
-        return getProperty("amazon.url");
+        return Holder.snapshot.getAmazonUrl();
     }
 
     public static String getAmazonEmail() {
-        return getProperty("amazon.email");
+        return Holder.snapshot.getAmazonEmail();
     }
 
     public static String getAmazonPassword() {
-        return getProperty("amazon.password");
+        return Holder.snapshot.getAmazonPassword();
     }
 
     public static String getApiBaseUrl() {
-        return getProperty("api.base.url");
+        return Holder.snapshot.getApiBaseUrl();
     }
 
     public static String getAPIKey() {
-        return getProperty("api.key");
-    }
-
-    public static int getImplicitWait() {
-        String wait = getProperty("implicit.wait");
-        return wait != null ? Integer.parseInt(wait) : 10;
+        return Holder.snapshot.getApiKey();
     }
 
     public static int getPageLoadTimeout() {
-        String timeout = getProperty("page.load.timeout");
-        return timeout != null ? Integer.parseInt(timeout) : 30;
+        return Holder.snapshot.getPageLoadTimeout();
     }
 
     public static int getExplicitWait() {
-        String wait = getProperty("explicit.wait");
-        return wait != null ? Integer.parseInt(wait) : 20;
+        return Holder.snapshot.getExplicitWait();
+    }
+
+    /**
+     * "live" calls api.base.url, "stub" starts the in-process UserApiStubServer and calls it instead
+     */
+    public static boolean isApiStubEnabled() {
+        return Holder.snapshot.isApiStubEnabled();
+    }
+
+    public static int getApiStubPort() {
+        return Holder.snapshot.getApiStubPort();
+    }
+
+    public static long getApiStubLatency() {
+        return Holder.snapshot.getApiStubLatency();
+    }
+
+    public static long getApiStubLatencyJitter() {
+        return Holder.snapshot.getApiStubLatencyJitter();
     }
 
     public static int getApiConnectionTimeout() {
-        String timeout = getProperty("api.connection.timeout");
-        return timeout != null ? Integer.parseInt(timeout) : 10000;
+        return Holder.snapshot.getApiConnectionTimeout();
     }
 
     public static int getApiSocketTimeout() {
-        String timeout = getProperty("api.socket.timeout");
-        return timeout != null ? Integer.parseInt(timeout) : 10000;
+        return Holder.snapshot.getApiSocketTimeout();
+    }
+
+    public static int getApiMaxConnectionsPerRoute() {
+        return Holder.snapshot.getApiMaxConnectionsPerRoute();
+    }
+
+    public static int getApiMaxConnectionsTotal() {
+        return Holder.snapshot.getApiMaxConnectionsTotal();
+    }
+
+    public static long getApiKeepAlive() {
+        return Holder.snapshot.getApiKeepAlive();
+    }
+
+    public static long getApiIdleEviction() {
+        return Holder.snapshot.getApiIdleEviction();
+    }
+
+    public static String getApiLogMode() {
+        return Holder.snapshot.getApiLogMode();
+    }
+
+    public static int getApiLogMaxBodyChars() {
+        return Holder.snapshot.getApiLogMaxBodyChars();
+    }
+
+    public static List<String> getApiLogRedactedHeaders() {
+        return Holder.snapshot.getApiLogRedactedHeaders();
+    }
+
+    /**
+     * Response bodies of at least this many bytes are checked with a streaming parser instead of a tree
+     */
+    public static int getApiAssertStreamingThreshold() {
+        return Holder.snapshot.getApiAssertStreamingThreshold();
+    }
+
+    /**
+     * Register Jackson's Blackbird module on the shared mapper; needs the blackbird Maven profile
+     */
+    public static boolean isApiJsonBlackbird() {
+        return Holder.snapshot.isApiJsonBlackbird();
+    }
+
+    /**
+     * Requests a batch call in ApiUtils keeps in flight at once
+     */
+    public static int getApiBatchMaxInFlight() {
+        return Holder.snapshot.getApiBatchMaxInFlight();
+    }
+
+    /**
+     * Attempts per request, the first one included; retries only happen for api.retry.methods
+     */
+    public static int getApiRetryMaxAttempts() {
+        return Holder.snapshot.getApiRetryMaxAttempts();
+    }
+
+    public static List<String> getApiRetryMethods() {
+        return Holder.snapshot.getApiRetryMethods();
+    }
+
+    /**
+     * Response statuses retried like connection and timeout failures, e.g. 503
+     */
+    public static List<Integer> getApiRetryStatuses() {
+        return Holder.snapshot.getApiRetryStatuses();
+    }
+
+    public static long getApiRetryBackoffInitial() {
+        return Holder.snapshot.getApiRetryBackoffInitial();
     }
 
+    public static long getApiRetryBackoffMax() {
+        return Holder.snapshot.getApiRetryBackoffMax();
+    }
+
+    /**
+     * Retries allowed over the whole run, across all requests
+     */
+    public static int getApiRetryBudget() {
+        return Holder.snapshot.getApiRetryBudget();
+    }
+
+    public static boolean isApiCircuitBreakerEnabled() {
+        return Holder.snapshot.isApiCircuitBreakerEnabled();
+    }
+
+    /**
+     * Consecutive connection/timeout failures to a host that open its circuit
+     */
+    public static int getApiCircuitFailureThreshold() {
+        return Holder.snapshot.getApiCircuitFailureThreshold();
+    }
+
+    /**
+     * How long an open circuit fails requests fast before letting a trial request through
+     */
+    public static long getApiCircuitOpen() {
+        return Holder.snapshot.getApiCircuitOpen();
+    }
+
+    public static String getLoadMode() {
+        return Holder.snapshot.getLoadMode();
+    }
+
+    public static int getLoadConcurrency() {
+        return Holder.snapshot.getLoadConcurrency();
+    }
+
+    public static int getLoadRps() {
+        return Holder.snapshot.getLoadRps();
+    }
+
+    public static int getLoadDurationSeconds() {
+        return Holder.snapshot.getLoadDurationSeconds();
+    }
+
+    public static String getLoadOutput() {
+        return Holder.snapshot.getLoadOutput();
+    }
+
+    public static int getLoadMaxInFlight() {
+        return Holder.snapshot.getLoadMaxInFlight();
+    }
+
+    public static long getWaitPollingInterval() {
+        return Holder.snapshot.getWaitPollingInterval();
+    }
+
+    public static double getWaitPollingBackoff() {
+        return Holder.snapshot.getWaitPollingBackoff();
+    }
+
+    public static long getWaitPollingMaxInterval() {
+        return Holder.snapshot.getWaitPollingMaxInterval();
+    }
+
+    /**
+     * How long, in milliseconds, to look for an element that may or may not appear (an offer dialog, a next
+     * page link) before treating it as absent
+     */
+    public static long getOptionalElementWait() {
+        return Holder.snapshot.getOptionalElementWait();
+    }
+
+    public static long getDomQuietWindow() {
+        return Holder.snapshot.getDomQuietWindow();
+    }
+
+    public static long getDomSettleTimeout() {
+        return Holder.snapshot.getDomSettleTimeout();
+    }
+
+    public static long getDomSettleFallback() {
+        return Holder.snapshot.getDomSettleFallback();
+    }
+
+    public static boolean isParallelEnabled() {
+        return Holder.snapshot.isParallelEnabled();
+    }
+
+    public static int getParallelThreads() {
+        return Holder.snapshot.getParallelThreads();
+    }
+
+    public static boolean isDriverPoolEnabled() {
+        return Holder.snapshot.isDriverPoolEnabled();
+    }
+
+    public static int getDriverPoolSize() {
+        return Holder.snapshot.getDriverPoolSize();
+    }
+
+    public static int getDriverPoolMaxReuse() {
+        return Holder.snapshot.getDriverPoolMaxReuse();
+    }
+
+    public static int getDriverPoolMaxAgeMinutes() {
+        return Holder.snapshot.getDriverPoolMaxAgeMinutes();
+    }
+
+    public static int getDriverPoolAcquireTimeout() {
+        return Holder.snapshot.getDriverPoolAcquireTimeout();
+    }
+    /**
+     * Where resolved driver binaries are remembered between runs; empty keeps them for this JVM only
+     */
+    public static String getDriverBinaryCacheFile() {
+        return Holder.snapshot.getDriverBinaryCacheFile();
+    }
+
+    public static int getDriverBinaryCacheTtlHours() {
+        return Holder.snapshot.getDriverBinaryCacheTtlHours();
+    }
+
+    public static boolean isDriverBinaryOffline() {
+        return Holder.snapshot.isDriverBinaryOffline();
+    }
+
+    public static boolean isDriverMetricsEnabled() {
+        return Holder.snapshot.isDriverMetricsEnabled();
+    }
+
+    public static String getDriverMetricsOutput() {
+        return Holder.snapshot.getDriverMetricsOutput();
+    }
+
+    /**
+     * "local" launches browsers on this machine, "remote" starts RemoteWebDriver sessions on grid.nodes
+     */
+    public static boolean isRemoteDriver() {
+        return Holder.snapshot.isRemoteDriver();
+    }
+
+    public static List<String> getGridNodes() {
+        return Holder.snapshot.getGridNodes();
+    }
+
+    public static int getGridNodeMaxSessions() {
+        return Holder.snapshot.getGridNodeMaxSessions();
+    }
+
+    public static int getGridHealthInterval() {
+        return Holder.snapshot.getGridHealthInterval();
+    }
+
+    public static int getGridSessionRetries() {
+        return Holder.snapshot.getGridSessionRetries();
+    }
+
+    public static int getGridAcquireTimeout() {
+        return Holder.snapshot.getGridAcquireTimeout();
+    }
 }
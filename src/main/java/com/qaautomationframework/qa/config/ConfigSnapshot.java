@@ -0,0 +1,717 @@
+package com.qaautomationframework.qa.config;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Immutable, typed view of the configuration. Every value is resolved, parsed and validated once when the
+ * snapshot is built, so reading it afterwards is a plain field access. Only the raw values travel when it
+ * is serialized; the typed fields are rebuilt and validated again on the receiving side. Secrets never travel:
+ * the receiving side resolves them from its own system properties or QA_ environment variables.
+ */
+public final class ConfigSnapshot implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Keys left out of {@link #encode()} and serialization, and redacted when logged
+     */
+    public static final Set<String> SECRET_KEYS = Set.of("amazon.email", "amazon.password", "api.key");
+
+    private final Map<String, String> values;
+
+    private final String browser;
+    private final boolean headless;
+    private final int pageLoadTimeout;
+    private final int explicitWait;
+    private final long waitPollingInterval;
+    private final double waitPollingBackoff;
+    private final long waitPollingMaxInterval;
+    private final long optionalElementWait;
+
+    private final long domQuietWindow;
+    private final long domSettleTimeout;
+    private final long domSettleFallback;
+
+    private final boolean parallelEnabled;
+    private final int parallelThreads;
+
+    private final boolean driverPoolEnabled;
+    private final int driverPoolSize;
+    private final int driverPoolMaxReuse;
+    private final int driverPoolMaxAgeMinutes;
+    private final int driverPoolAcquireTimeout;
+
+    private final String driverBinaryCacheFile;
+    private final int driverBinaryCacheTtlHours;
+    private final boolean driverBinaryOffline;
+
+    private final boolean driverMetricsEnabled;
+    private final String driverMetricsOutput;
+
+    private final boolean remoteDriver;
+    private final List<String> gridNodes;
+    private final int gridNodeMaxSessions;
+    private final int gridHealthInterval;
+    private final int gridSessionRetries;
+    private final int gridAcquireTimeout;
+
+    private final boolean resourceBlockingEnabled;
+    private final List<String> resourceBlockingTypes;
+    private final List<String> resourceBlockingPatterns;
+
+    private final boolean loginCacheEnabled;
+    private final int loginCacheTtlMinutes;
+
+    private final String amazonUrl;
+    private final String amazonEmail;
+    private final String amazonPassword;
+
+    private final String apiBaseUrl;
+    private final String apiKey;
+    private final boolean apiStubEnabled;
+    private final int apiStubPort;
+    private final long apiStubLatency;
+    private final long apiStubLatencyJitter;
+    private final int apiConnectionTimeout;
+    private final int apiSocketTimeout;
+    private final int apiMaxConnectionsPerRoute;
+    private final int apiMaxConnectionsTotal;
+    private final long apiKeepAlive;
+    private final long apiIdleEviction;
+    private final String apiLogMode;
+    private final int apiLogMaxBodyChars;
+    private final List<String> apiLogRedactedHeaders;
+    private final int apiAssertStreamingThreshold;
+    private final boolean apiJsonBlackbird;
+    private final int apiBatchMaxInFlight;
+    private final int apiRetryMaxAttempts;
+    private final List<String> apiRetryMethods;
+    private final List<Integer> apiRetryStatuses;
+    private final long apiRetryBackoffInitial;
+    private final long apiRetryBackoffMax;
+    private final int apiRetryBudget;
+    private final boolean apiCircuitBreakerEnabled;
+    private final int apiCircuitFailureThreshold;
+    private final long apiCircuitOpen;
+
+    private final String loadMode;
+    private final int loadConcurrency;
+    private final int loadRps;
+    private final int loadDurationSeconds;
+    private final String loadOutput;
+    private final int loadMaxInFlight;
+
+    /**
+     * @param source    resolves a key to its raw value, or null when it is not configured
+     * @param extraKeys keys to keep in the snapshot besides the ones read here, e.g. everything in the file
+     * @throws IllegalStateException listing every invalid value
+     */
+    ConfigSnapshot(Function<String, String> source, Set<String> extraKeys) {
+        Resolver resolver = new Resolver(source);
+
+        browser = resolver.oneOf("browser", "chrome", "chrome", "firefox", "edge");
+        headless = resolver.bool("headless", false);
+        pageLoadTimeout = resolver.integer("page.load.timeout", 30, 1);
+        explicitWait = resolver.integer("explicit.wait", 20, 1);
+        waitPollingInterval = resolver.longValue("wait.polling.interval.ms", 100, 1);
+        waitPollingBackoff = resolver.decimal("wait.polling.backoff", 1.5, 1.0);
+        waitPollingMaxInterval = resolver.longValue("wait.polling.max.interval.ms", 1000, 1);
+        optionalElementWait = resolver.longValue("wait.optional.element.ms", 3000, 0);
+
+        domQuietWindow = resolver.longValue("dom.quiet.window.ms", 300, 0);
+        domSettleTimeout = resolver.longValue("dom.settle.timeout.ms", 1000, 0);
+        domSettleFallback = resolver.longValue("dom.settle.fallback.ms", 1000, 0);
+
+        parallelEnabled = resolver.bool("parallel.enabled", false);
+        parallelThreads = resolver.integer("parallel.threads", 4, 1);
+
+        driverPoolEnabled = resolver.bool("driver.pool.enabled", false);
+        driverPoolSize = resolver.integer("driver.pool.size", 4, 1);
+        driverPoolMaxReuse = resolver.integer("driver.pool.max.reuse", 20, 1);
+        driverPoolMaxAgeMinutes = resolver.integer("driver.pool.max.age.minutes", 30, 1);
+        driverPoolAcquireTimeout = resolver.integer("driver.pool.acquire.timeout", 300, 1);
+
+        driverBinaryCacheFile = resolver.string("driver.binary.cache.file",
+                Paths.get(System.getProperty("user.home"), ".cache", "qa-automation", "driver-binaries.properties")
+                        .toString());
+        driverBinaryCacheTtlHours = resolver.integer("driver.binary.cache.ttl.hours", 24, 1);
+        driverBinaryOffline = resolver.bool("driver.binary.offline", false);
+
+        driverMetricsEnabled = resolver.bool("driver.metrics.enabled", false);
+        driverMetricsOutput = resolver.string("driver.metrics.output", "test-output/webdriver-metrics.json");
+
+        remoteDriver = "remote".equals(resolver.oneOf("driver.mode", "local", "local", "remote"));
+        gridNodes = resolver.list("grid.nodes", List.of());
+        gridNodeMaxSessions = resolver.integer("grid.node.max.sessions", 1, 1);
+        gridHealthInterval = resolver.integer("grid.health.interval.seconds", 30, 1);
+        gridSessionRetries = resolver.integer("grid.session.retries", 2, 0);
+        gridAcquireTimeout = resolver.integer("grid.acquire.timeout.seconds", 300, 1);
+
+        resourceBlockingEnabled = resolver.bool("resource.blocking.enabled", false);
+        resourceBlockingTypes = resolver.subsetOf("resource.blocking.types", List.of("image", "font", "media"),
+                "image", "font", "media");
+        resourceBlockingPatterns = resolver.list("resource.blocking.patterns", List.of());
+
+        loginCacheEnabled = resolver.bool("login.cache.enabled", false);
+        loginCacheTtlMinutes = resolver.integer("login.cache.ttl.minutes", 30, 1);
+
+        amazonUrl = resolver.string("amazon.url", null);
+        amazonEmail = resolver.string("amazon.email", null);
+        amazonPassword = resolver.string("amazon.password", null);
+
+        apiBaseUrl = resolver.string("api.base.url", null);
+        apiKey = resolver.string("api.key", null);
+        apiStubEnabled = "stub".equals(resolver.oneOf("api.mode", "live", "live", "stub"));
+        apiStubPort = resolver.integer("api.stub.port", 0, 0);
+        apiStubLatency = resolver.longValue("api.stub.latency.ms", 0, 0);
+        apiStubLatencyJitter = resolver.longValue("api.stub.latency.jitter.ms", 0, 0);
+        apiConnectionTimeout = resolver.integer("api.connection.timeout", 10000, 1);
+        apiSocketTimeout = resolver.integer("api.socket.timeout", 10000, 1);
+        apiMaxConnectionsPerRoute = resolver.integer("api.http.max.connections.per.route", 20, 1);
+        apiMaxConnectionsTotal = resolver.integer("api.http.max.connections.total", 100, 1);
+        apiKeepAlive = resolver.longValue("api.http.keepalive.ms", 30000, 0);
+        apiIdleEviction = resolver.longValue("api.http.idle.eviction.ms", 15000, 1);
+        apiLogMode = resolver.oneOf("api.log.mode", "on_failure", "off", "on_failure", "always");
+        apiLogMaxBodyChars = resolver.integer("api.log.max.body.chars", 4096, 0);
+        apiLogRedactedHeaders = resolver.list("api.log.redact.headers", List.of("x-api-key", "Authorization"));
+        apiAssertStreamingThreshold = resolver.integer("api.assert.streaming.threshold.bytes", 262144, 0);
+        apiJsonBlackbird = resolver.bool("api.json.blackbird.enabled", false);
+        apiBatchMaxInFlight = resolver.integer("api.batch.max.in.flight", 10, 1);
+        apiRetryMaxAttempts = resolver.integer("api.retry.max.attempts", 3, 1);
+        apiRetryMethods = resolver.subsetOf("api.retry.methods", List.of("GET", "PUT", "DELETE"),
+                "get", "head", "options", "put", "delete", "post", "patch").stream()
+                .map(method -> method.toUpperCase(Locale.ROOT)).toList();
+        List<Integer> retryStatuses = new ArrayList<>();
+        for (String status : resolver.list("api.retry.statuses", List.of("502", "503", "504"))) {
+            if (status.matches("[1-5]\\d\\d")) {
+                retryStatuses.add(Integer.parseInt(status));
+            } else {
+                resolver.errors.add("api.retry.statuses contains " + status + ", expected HTTP status codes such as 503");
+            }
+        }
+        apiRetryStatuses = List.copyOf(retryStatuses);
+        apiRetryBackoffInitial = resolver.longValue("api.retry.backoff.initial.ms", 200, 1);
+        apiRetryBackoffMax = resolver.longValue("api.retry.backoff.max.ms", 5000, 1);
+        apiRetryBudget = resolver.integer("api.retry.budget", 50, 0);
+        apiCircuitBreakerEnabled = resolver.bool("api.circuit.breaker.enabled", true);
+        apiCircuitFailureThreshold = resolver.integer("api.circuit.failure.threshold", 5, 1);
+        apiCircuitOpen = resolver.longValue("api.circuit.open.ms", 30000, 1);
+
+        loadMode = resolver.oneOf("load.mode", "concurrency", "concurrency", "rps");
+        loadConcurrency = resolver.integer("load.concurrency", 10, 1);
+        loadRps = resolver.integer("load.rps", 50, 1);
+        loadDurationSeconds = resolver.integer("load.duration.seconds", 30, 1);
+        loadOutput = resolver.string("load.output", "target/load-test/summary.json");
+        loadMaxInFlight = resolver.integer("load.max.in.flight", 200, 1);
+
+        if (!apiStubEnabled && apiBaseUrl == null) {
+            resolver.errors.add("api.base.url is required when api.mode=live");
+        }
+        if (remoteDriver && gridNodes.isEmpty()) {
+            resolver.errors.add("grid.nodes is required when driver.mode=remote");
+        }
+        for (String node : gridNodes) {
+            if (!node.matches("https?://[^/\\s]+(/\\S*)?")) {
+                resolver.errors.add("grid.nodes contains " + node + ", expected an http(s) URL such as http://localhost:4444");
+            }
+        }
+        if (apiBatchMaxInFlight > apiMaxConnectionsPerRoute) {
+            resolver.errors.add("api.batch.max.in.flight (" + apiBatchMaxInFlight
+                    + ") must not exceed api.http.max.connections.per.route (" + apiMaxConnectionsPerRoute + ")");
+        }
+        if (apiRetryBackoffMax < apiRetryBackoffInitial) {
+            resolver.errors.add("api.retry.backoff.max.ms (" + apiRetryBackoffMax
+                    + ") must not be lower than api.retry.backoff.initial.ms (" + apiRetryBackoffInitial + ")");
+        }
+        if (waitPollingMaxInterval < waitPollingInterval) {
+            resolver.errors.add("wait.polling.max.interval.ms (" + waitPollingMaxInterval
+                    + ") must not be lower than wait.polling.interval.ms (" + waitPollingInterval + ")");
+        }
+        if (!resolver.errors.isEmpty()) {
+            throw new IllegalStateException("Invalid configuration:" + System.lineSeparator() + "  "
+                    + String.join(System.lineSeparator() + "  ", resolver.errors));
+        }
+
+        for (String key : extraKeys) {
+            resolver.string(key, null);
+        }
+        values = Collections.unmodifiableMap(resolver.resolved);
+    }
+
+    /**
+     * Raw values without {@link #SECRET_KEYS} as Base64 encoded properties text, safe to pass in a system
+     * property or environment variable
+     */
+    public String encode() {
+        Properties properties = new Properties();
+        properties.putAll(withoutSecrets());
+        StringWriter writer = new StringWriter();
+        try {
+            properties.store(writer, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Base64.getEncoder().encodeToString(writer.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Properties decode(String encoded) {
+        Properties properties = new Properties();
+        try {
+            properties.load(new StringReader(new String(Base64.getDecoder().decode(encoded), StandardCharsets.UTF_8)));
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalStateException("config.snapshot is not a valid encoded configuration", e);
+        }
+        return properties;
+    }
+
+    private Object writeReplace() {
+        return new SerializedForm(withoutSecrets());
+    }
+
+    private TreeMap<String, String> withoutSecrets() {
+        TreeMap<String, String> shipped = new TreeMap<>(values);
+        shipped.keySet().removeAll(SECRET_KEYS);
+        return shipped;
+    }
+
+    private void readObject(ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("Deserialized through SerializedForm");
+    }
+
+    /**
+     * Raw value of any key in the snapshot, null when it is not configured
+     */
+    public String get(String key) {
+        return values.get(key);
+    }
+
+    /**
+     * Every configured key and its resolved raw value, sorted by key
+     */
+    public Map<String, String> asMap() {
+        return values;
+    }
+
+    public String getBrowser() {
+        return browser;
+    }
+
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    public int getPageLoadTimeout() {
+        return pageLoadTimeout;
+    }
+
+    public int getExplicitWait() {
+        return explicitWait;
+    }
+
+    public long getWaitPollingInterval() {
+        return waitPollingInterval;
+    }
+
+    public double getWaitPollingBackoff() {
+        return waitPollingBackoff;
+    }
+
+    public long getWaitPollingMaxInterval() {
+        return waitPollingMaxInterval;
+    }
+
+    public long getOptionalElementWait() {
+        return optionalElementWait;
+    }
+
+    public long getDomQuietWindow() {
+        return domQuietWindow;
+    }
+
+    public long getDomSettleTimeout() {
+        return domSettleTimeout;
+    }
+
+    public long getDomSettleFallback() {
+        return domSettleFallback;
+    }
+
+    public boolean isParallelEnabled() {
+        return parallelEnabled;
+    }
+
+    public int getParallelThreads() {
+        return parallelThreads;
+    }
+
+    public boolean isDriverPoolEnabled() {
+        return driverPoolEnabled;
+    }
+
+    public int getDriverPoolSize() {
+        return driverPoolSize;
+    }
+
+    public int getDriverPoolMaxReuse() {
+        return driverPoolMaxReuse;
+    }
+
+    public int getDriverPoolMaxAgeMinutes() {
+        return driverPoolMaxAgeMinutes;
+    }
+
+    public int getDriverPoolAcquireTimeout() {
+        return driverPoolAcquireTimeout;
+    }
+
+    public String getDriverBinaryCacheFile() {
+        return driverBinaryCacheFile;
+    }
+
+    public int getDriverBinaryCacheTtlHours() {
+        return driverBinaryCacheTtlHours;
+    }
+
+    public boolean isDriverBinaryOffline() {
+        return driverBinaryOffline;
+    }
+
+    public boolean isDriverMetricsEnabled() {
+        return driverMetricsEnabled;
+    }
+
+    public String getDriverMetricsOutput() {
+        return driverMetricsOutput;
+    }
+
+    public boolean isRemoteDriver() {
+        return remoteDriver;
+    }
+
+    public List<String> getGridNodes() {
+        return gridNodes;
+    }
+
+    public int getGridNodeMaxSessions() {
+        return gridNodeMaxSessions;
+    }
+
+    public int getGridHealthInterval() {
+        return gridHealthInterval;
+    }
+
+    public int getGridSessionRetries() {
+        return gridSessionRetries;
+    }
+
+    public int getGridAcquireTimeout() {
+        return gridAcquireTimeout;
+    }
+
+    public boolean isResourceBlockingEnabled() {
+        return resourceBlockingEnabled;
+    }
+
+    public List<String> getResourceBlockingTypes() {
+        return resourceBlockingTypes;
+    }
+
+    public List<String> getResourceBlockingPatterns() {
+        return resourceBlockingPatterns;
+    }
+
+    public boolean isLoginCacheEnabled() {
+        return loginCacheEnabled;
+    }
+
+    public int getLoginCacheTtlMinutes() {
+        return loginCacheTtlMinutes;
+    }
+
+    public String getAmazonUrl() {
+        return amazonUrl;
+    }
+
+    public String getAmazonEmail() {
+        return amazonEmail;
+    }
+
+    public String getAmazonPassword() {
+        return amazonPassword;
+    }
+
+    public String getApiBaseUrl() {
+        return apiBaseUrl;
+    }
+
+    public String getApiKey() {
+        return apiKey;
+    }
+
+    public boolean isApiStubEnabled() {
+        return apiStubEnabled;
+    }
+
+    public int getApiStubPort() {
+        return apiStubPort;
+    }
+
+    public long getApiStubLatency() {
+        return apiStubLatency;
+    }
+
+    public long getApiStubLatencyJitter() {
+        return apiStubLatencyJitter;
+    }
+
+    public int getApiConnectionTimeout() {
+        return apiConnectionTimeout;
+    }
+
+    public int getApiSocketTimeout() {
+        return apiSocketTimeout;
+    }
+
+    public int getApiMaxConnectionsPerRoute() {
+        return apiMaxConnectionsPerRoute;
+    }
+
+    public int getApiMaxConnectionsTotal() {
+        return apiMaxConnectionsTotal;
+    }
+
+    public long getApiKeepAlive() {
+        return apiKeepAlive;
+    }
+
+    public long getApiIdleEviction() {
+        return apiIdleEviction;
+    }
+
+    public String getApiLogMode() {
+        return apiLogMode;
+    }
+
+    public int getApiLogMaxBodyChars() {
+        return apiLogMaxBodyChars;
+    }
+
+    public List<String> getApiLogRedactedHeaders() {
+        return apiLogRedactedHeaders;
+    }
+
+    public int getApiAssertStreamingThreshold() {
+        return apiAssertStreamingThreshold;
+    }
+
+    public boolean isApiJsonBlackbird() {
+        return apiJsonBlackbird;
+    }
+
+    public int getApiBatchMaxInFlight() {
+        return apiBatchMaxInFlight;
+    }
+
+    public int getApiRetryMaxAttempts() {
+        return apiRetryMaxAttempts;
+    }
+
+    public List<String> getApiRetryMethods() {
+        return apiRetryMethods;
+    }
+
+    public List<Integer> getApiRetryStatuses() {
+        return apiRetryStatuses;
+    }
+
+    public long getApiRetryBackoffInitial() {
+        return apiRetryBackoffInitial;
+    }
+
+    public long getApiRetryBackoffMax() {
+        return apiRetryBackoffMax;
+    }
+
+    public int getApiRetryBudget() {
+        return apiRetryBudget;
+    }
+
+    public boolean isApiCircuitBreakerEnabled() {
+        return apiCircuitBreakerEnabled;
+    }
+
+    public int getApiCircuitFailureThreshold() {
+        return apiCircuitFailureThreshold;
+    }
+
+    public long getApiCircuitOpen() {
+        return apiCircuitOpen;
+    }
+
+    public String getLoadMode() {
+        return loadMode;
+    }
+
+    public int getLoadConcurrency() {
+        return loadConcurrency;
+    }
+
+    public int getLoadRps() {
+        return loadRps;
+    }
+
+    public int getLoadDurationSeconds() {
+        return loadDurationSeconds;
+    }
+
+    public String getLoadOutput() {
+        return loadOutput;
+    }
+
+    public int getLoadMaxInFlight() {
+        return loadMaxInFlight;
+    }
+
+    private static class SerializedForm implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private final TreeMap<String, String> values;
+
+        SerializedForm(TreeMap<String, String> values) {
+            this.values = values;
+        }
+
+        // Secrets were not shipped; take them from this JVM's system properties and environment
+        private Object readResolve() {
+            return new ConfigSnapshot(
+                    key -> SECRET_KEYS.contains(key) ? ConfigReader.lookupOverride(key) : values.get(key),
+                    values.keySet());
+        }
+    }
+
+    /**
+     * Reads raw values through the source, remembers them and collects validation errors instead of
+     * failing on the first one
+     */
+    private static class Resolver {
+        private final Function<String, String> source;
+        private final Map<String, String> resolved = new TreeMap<>();
+        private final List<String> errors = new ArrayList<>();
+
+        Resolver(Function<String, String> source) {
+            this.source = source;
+        }
+
+        String string(String key, String defaultValue) {
+            String value = source.apply(key);
+            if (value == null) {
+                return defaultValue;
+            }
+            value = value.trim();
+            resolved.put(key, value);
+            return value;
+        }
+
+        String oneOf(String key, String defaultValue, String... allowed) {
+            String value = string(key, defaultValue).toLowerCase();
+            if (!Arrays.asList(allowed).contains(value)) {
+                errors.add(key + "=" + value + " must be one of " + Arrays.toString(allowed));
+            }
+            return value;
+        }
+
+        boolean bool(String key, boolean defaultValue) {
+            String value = string(key, null);
+            if (value == null) {
+                return defaultValue;
+            }
+            if (!"true".equalsIgnoreCase(value) && !"false".equalsIgnoreCase(value)) {
+                errors.add(key + "=" + value + " must be true or false");
+                return defaultValue;
+            }
+            return Boolean.parseBoolean(value);
+        }
+
+        int integer(String key, int defaultValue, int min) {
+            return (int) Math.min(Integer.MAX_VALUE, longValue(key, defaultValue, min));
+        }
+
+        long longValue(String key, long defaultValue, long min) {
+            String value = string(key, null);
+            if (value == null) {
+                return defaultValue;
+            }
+            try {
+                long parsed = Long.parseLong(value);
+                if (parsed < min) {
+                    errors.add(key + "=" + value + " must be at least " + min);
+                    return defaultValue;
+                }
+                return parsed;
+            } catch (NumberFormatException e) {
+                errors.add(key + "=" + value + " is not a whole number");
+                return defaultValue;
+            }
+        }
+
+        double decimal(String key, double defaultValue, double min) {
+            String value = string(key, null);
+            if (value == null) {
+                return defaultValue;
+            }
+            try {
+                double parsed = Double.parseDouble(value);
+                if (parsed < min) {
+                    errors.add(key + "=" + value + " must be at least " + min);
+                    return defaultValue;
+                }
+                return parsed;
+            } catch (NumberFormatException e) {
+                errors.add(key + "=" + value + " is not a number");
+                return defaultValue;
+            }
+        }
+
+        List<String> list(String key, List<String> defaultValue) {
+            String value = string(key, null);
+            if (value == null) {
+                return defaultValue;
+            }
+            List<String> items = new ArrayList<>();
+            for (String item : value.split("\\s*,\\s*")) {
+                if (!item.isEmpty()) {
+                    items.add(item);
+                }
+            }
+            return List.copyOf(items);
+        }
+
+        List<String> subsetOf(String key, List<String> defaultValue, String... allowed) {
+            List<String> items = list(key, defaultValue);
+            List<String> known = Arrays.asList(allowed);
+            for (String item : items) {
+                if (!known.contains(item.toLowerCase())) {
+                    errors.add(key + " contains " + item + ", allowed values are " + known);
+                }
+            }
+            return items;
+        }
+    }
+}
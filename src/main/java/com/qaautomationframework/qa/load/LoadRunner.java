@@ -0,0 +1,255 @@
+package com.qaautomationframework.qa.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.qaautomationframework.qa.api.endpoints.ApiEndpoints;
+import com.qaautomationframework.qa.api.pojos.User;
+import com.qaautomationframework.qa.api.stub.UserApiStubServer;
+import com.qaautomationframework.qa.config.ConfigReader;
+import com.qaautomationframework.qa.utils.ApiUtils;
+import com.qaautomationframework.qa.utils.HttpClientPool;
+import com.qaautomationframework.qa.utils.MetricsRegistry;
+import io.restassured.RestAssured;
+import io.restassured.response.Response;
+import org.HdrHistogram.Histogram;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.config.Configurator;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives the user CRUD calls of {@link ApiUtils} as a load test, either with a fixed number of concurrent
+ * virtual users (load.mode=concurrency) or at a fixed request rate (load.mode=rps), for load.duration.seconds.
+ * Latency per endpoint goes into HDR histograms and a JSON summary is written to load.output.
+ * <p>
+ * Retries and the circuit breaker are turned off unless set explicitly, so latency is the server's and not
+ * backoff sleeps. Requests the breaker refused, and in rps mode requests that could not be started because
+ * load.max.in.flight were still running, are counted per endpoint but kept out of the latency figures.
+ * <p>
+ * Run with, e.g. against the in-process stub:
+ * <pre>
+ * mvn compile exec:java -Dexec.mainClass=com.qaautomationframework.qa.load.LoadRunner \
+ *     -Dapi.mode=stub -Dload.mode=rps -Dload.rps=200 -Dload.duration.seconds=30
+ * </pre>
+ */
+public class LoadRunner {
+    private static final Logger logger = LogManager.getLogger(LoadRunner.class);
+    private static final String METRIC_PREFIX = "load.";
+    private static final String EXISTING_USER_ID = "2";
+
+    private enum Operation {
+        CREATE("POST " + ApiEndpoints.CREATE_USER, 201) {
+            @Override
+            Response call() {
+                return ApiUtils.post(ApiEndpoints.CREATE_USER, new User("Load Test", "QA Automation Engineer", 30));
+            }
+        },
+        READ("GET " + ApiEndpoints.GET_USER, 200) {
+            @Override
+            Response call() {
+                return ApiUtils.get(ApiEndpoints.GET_USER, EXISTING_USER_ID);
+            }
+        },
+        UPDATE("PUT " + ApiEndpoints.UPDATE_USER, 200) {
+            @Override
+            Response call() {
+                return ApiUtils.put(ApiEndpoints.UPDATE_USER, EXISTING_USER_ID,
+                        new User("Load Test", "Senior QA Automation Engineer", 31));
+            }
+        },
+        DELETE("DELETE " + ApiEndpoints.DELETE_USER, 204) {
+            @Override
+            Response call() {
+                return ApiUtils.delete(ApiEndpoints.DELETE_USER, EXISTING_USER_ID);
+            }
+        };
+
+        private static final Operation[] CYCLE = values();
+
+        private final String label;
+        private final int expectedStatus;
+
+        Operation(String label, int expectedStatus) {
+            this.label = label;
+            this.expectedStatus = expectedStatus;
+        }
+
+        abstract Response call();
+    }
+
+    public static void main(String[] args) throws Exception {
+        // Before anything reads the configuration
+        defaultUnlessSet("api.retry.max.attempts", "1");
+        defaultUnlessSet("api.circuit.breaker.enabled", "false");
+        // Per-request info logging would measure the log appenders instead of the API
+        Configurator.setLevel(ApiUtils.class.getName(), Level.WARN);
+
+        String mode = ConfigReader.getLoadMode();
+        long durationNanos = TimeUnit.SECONDS.toNanos(ConfigReader.getLoadDurationSeconds());
+        // One untimed cycle resolves the base URI (starting the stub when api.mode=stub) and keeps
+        // RestAssured's class loading out of the first measured requests
+        for (Operation operation : Operation.CYCLE) {
+            operation.call();
+        }
+        logger.info("Starting " + mode + " load test against " + RestAssured.baseURI + " for "
+                + ConfigReader.getLoadDurationSeconds() + " s");
+
+        MetricsRegistry.reset();
+        long start = System.nanoTime();
+        if ("rps".equals(mode)) {
+            runAtFixedRate(ConfigReader.getLoadRps(), start, durationNanos);
+        } else {
+            runWithConcurrency(ConfigReader.getLoadConcurrency(), start, durationNanos);
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        Map<String, Object> summary = buildSummary(mode, elapsedNanos);
+        File output = new File(ConfigReader.getLoadOutput());
+        output.getAbsoluteFile().getParentFile().mkdirs();
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(output, summary);
+
+        logger.info("Load test finished" + MetricsRegistry.summary(METRIC_PREFIX));
+        HttpClientPool.logStatistics();
+        logger.info("Summary written to " + output.getPath());
+        UserApiStubServer.stop();
+    }
+
+    /**
+     * Closed model: each virtual user runs create/read/update/delete back to back until the time is up
+     */
+    private static void runWithConcurrency(int users, long start, long durationNanos) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(users, threadFactory("load-user"));
+        long deadline = start + durationNanos;
+        for (int i = 0; i < users; i++) {
+            executor.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    for (Operation operation : Operation.CYCLE) {
+                        execute(operation, System.nanoTime());
+                    }
+                }
+            });
+        }
+        awaitCompletion(executor);
+    }
+
+    /**
+     * Open model: requests are started on a fixed schedule whatever the response times are. Latency is
+     * measured from the scheduled start, so a slow server is not hidden by requests that were sent late.
+     */
+    private static void runAtFixedRate(int rps, long start, long durationNanos) throws InterruptedException {
+        // No queue: a request that cannot get a thread at its scheduled time is counted, not started late
+        ExecutorService executor = new ThreadPoolExecutor(0, ConfigReader.getLoadMaxInFlight(), 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), threadFactory("load-request"));
+        long periodNanos = TimeUnit.SECONDS.toNanos(1) / rps;
+        long total = durationNanos / periodNanos;
+        for (long i = 0; i < total; i++) {
+            long scheduled = start + i * periodNanos;
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = Operation.CYCLE[(int) (i % Operation.CYCLE.length)];
+            try {
+                executor.execute(() -> execute(operation, scheduled));
+            } catch (RejectedExecutionException e) {
+                MetricsRegistry.increment(METRIC_PREFIX + "not.started." + operation.label);
+            }
+        }
+        awaitCompletion(executor);
+    }
+
+    private static void execute(Operation operation, long startNanos) {
+        try {
+            Response response = operation.call();
+            if (response.getStatusCode() != operation.expectedStatus) {
+                MetricsRegistry.increment(METRIC_PREFIX + "errors." + operation.label);
+            }
+        } catch (IllegalStateException e) {
+            // Refused by the circuit breaker without reaching the server
+            MetricsRegistry.increment(METRIC_PREFIX + "rejected." + operation.label);
+            return;
+        } catch (RuntimeException e) {
+            MetricsRegistry.increment(METRIC_PREFIX + "errors." + operation.label);
+        }
+        MetricsRegistry.recordSince(METRIC_PREFIX + operation.label, startNanos);
+    }
+
+    private static Map<String, Object> buildSummary(String mode, long elapsedNanos) {
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        long requests = 0;
+        long errors = 0;
+        long rejected = 0;
+        long notStarted = 0;
+        for (Operation operation : Operation.CYCLE) {
+            Histogram histogram = MetricsRegistry.getTimer(METRIC_PREFIX + operation.label);
+            long endpointRejected = MetricsRegistry.getCount(METRIC_PREFIX + "rejected." + operation.label);
+            long endpointNotStarted = MetricsRegistry.getCount(METRIC_PREFIX + "not.started." + operation.label);
+            if (histogram == null && endpointRejected == 0 && endpointNotStarted == 0) {
+                continue;
+            }
+            Map<String, Object> stats = histogram != null ? MetricsRegistry.describe(histogram) : new LinkedHashMap<>();
+            long endpointErrors = MetricsRegistry.getCount(METRIC_PREFIX + "errors." + operation.label);
+            stats.put("errors", endpointErrors);
+            stats.put("rejected", endpointRejected);
+            stats.put("notStarted", endpointNotStarted);
+            endpoints.put(operation.label, stats);
+            requests += histogram != null ? histogram.getTotalCount() : 0;
+            errors += endpointErrors;
+            rejected += endpointRejected;
+            notStarted += endpointNotStarted;
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("baseUri", RestAssured.baseURI);
+        summary.put("mode", mode);
+        summary.put("target", "rps".equals(mode) ? ConfigReader.getLoadRps() : ConfigReader.getLoadConcurrency());
+        summary.put("durationSeconds", elapsedNanos / 1e9);
+        summary.put("requests", requests);
+        summary.put("errors", errors);
+        summary.put("rejectedByCircuitBreaker", rejected);
+        summary.put("notStarted", notStarted);
+        summary.put("throughputRps", requests / (elapsedNanos / 1e9));
+        summary.put("connectionReuseRate", HttpClientPool.getConnectionReuseRate());
+        summary.put("endpoints", endpoints);
+        return summary;
+    }
+
+    /**
+     * Set a system property for the run unless the key was already given as a system property or QA_ variable
+     */
+    private static void defaultUnlessSet(String key, String value) {
+        if (ConfigReader.lookupOverride(key) == null) {
+            System.setProperty(key, value);
+        }
+    }
+
+    private static void awaitCompletion(ExecutorService executor) throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(ConfigReader.getApiSocketTimeout() + 60_000L, TimeUnit.MILLISECONDS)) {
+            logger.warn("Load workers did not finish in time, abandoning in-flight requests");
+            executor.shutdownNow();
+        }
+    }
+
+    private static ThreadFactory threadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -1,17 +1,34 @@
 package com.qaautomationframework.qa.pages;
 
+import com.qaautomationframework.qa.utils.PriceParser;
 import com.qaautomationframework.qa.utils.WebElementUtils;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 
 public class AmazonCartPage extends BasePage {
 
+    private static final String CART_ITEMS_CSS = "div.sc-list-item";
+    private static final String CART_ITEM_PRICE_CSS = "span.apex-price-to-pay-value";
+
+    // Prefer the screen-reader copy of the price ("EGP 1,234.50"), it is not split into whole/fraction spans
+    private static final String CART_ITEM_PRICES_SCRIPT =
+            "var items = document.querySelectorAll(arguments[0]);"
+            + "var prices = [];"
+            + "for (var i = 0; i < items.length; i++) {"
+            + "  var price = items[i].querySelector(arguments[1]);"
+            + "  if (!price) { continue; }"
+            + "  var offscreen = price.querySelector('.a-offscreen');"
+            + "  prices.push(offscreen && offscreen.textContent.trim() ? offscreen.textContent : price.innerText);"
+            + "}"
+            + "return prices;";
+
     private final By cartIcon = By.id("nav-cart");
-    private final By cartItems = By.cssSelector("div.sc-list-item");
-    private final By cartItemPrice = By.cssSelector("span.apex-price-to-pay-value");
     private final By cartTotal = By.cssSelector("span.sc-price");
     private final By proceedToCheckoutButton = By.cssSelector("input[name='proceedToRetailCheckout']");
 
@@ -30,13 +47,13 @@ public class AmazonCartPage extends BasePage {
     }
 
     public boolean validateCartTotal() {
-        double itemsTotal = getItemsTotal();
-        double cartTotalValue = getCartTotal();
+        BigDecimal itemsTotal = getItemsTotal();
+        BigDecimal cartTotalValue = getCartTotal();
 
         logger.info(
                 "Validating cart total. Items Total: " + itemsTotal + " EGP, Cart Total: " + cartTotalValue + " EGP");
 
-        return Math.abs(itemsTotal - cartTotalValue) < 0.01;
+        return itemsTotal.compareTo(cartTotalValue) == 0;
     }
 
     public void proceedToCheckout() {
@@ -45,64 +62,51 @@ public class AmazonCartPage extends BasePage {
         logger.info("Clicked Proceed to Checkout");
     }
 
-    public double getItemsTotal() {
-        try {
-            List<WebElement> items = WebElementUtils.getElements(driver, cartItems);
-            double itemsTotal = 0.0;
-
-            for (WebElement item : items) {
-                try {
-                    List<WebElement> priceElements = item.findElements(cartItemPrice);
-                    if (!priceElements.isEmpty()) {
-                        String priceText = priceElements.get(0).getText().trim();
-                        logger.info("Raw item price text: '" + priceText + "'");
-
-                        String cleanText = priceText
-                                .replaceAll("EGP", "")
-                                .replaceAll("\\s+", "")
-                                .replaceAll(",", "")
-                                .trim();
-
-                        if (!cleanText.contains(".") && cleanText.length() > 2) {
-                            cleanText = cleanText.substring(0, cleanText.length() - 2) + "."
-                                    + cleanText.substring(cleanText.length() - 2);
-                        }
-
-                        logger.info("Cleaned item price text: '" + cleanText + "'");
-                        double price = Double.parseDouble(cleanText);
-                        itemsTotal += price;
-                    }
-                } catch (Exception e) {
-                    logger.warn("Could not parse item price: " + e.getMessage());
-                }
+    /**
+     * Prices of all cart lines, scraped in a single executeScript round-trip
+     */
+    public List<BigDecimal> getItemPrices() {
+        List<?> priceTexts = (List<?>) ((JavascriptExecutor) driver).executeScript(CART_ITEM_PRICES_SCRIPT,
+                CART_ITEMS_CSS, CART_ITEM_PRICE_CSS);
+
+        List<BigDecimal> prices = new ArrayList<>(priceTexts.size());
+        for (Object priceText : priceTexts) {
+            try {
+                BigDecimal price = PriceParser.parse((String) priceText);
+                logger.info("Item price: '" + priceText + "' -> " + price);
+                prices.add(price);
+            } catch (NumberFormatException e) {
+                logger.warn("Could not parse item price: " + e.getMessage());
             }
+        }
+        return prices;
+    }
 
+    public BigDecimal getItemsTotal() {
+        try {
+            BigDecimal itemsTotal = BigDecimal.ZERO;
+            for (BigDecimal price : getItemPrices()) {
+                itemsTotal = itemsTotal.add(price);
+            }
             return itemsTotal;
         } catch (Exception e) {
             logger.error("Error calculating items total: " + e.getMessage());
-            return 0.0;
+            return BigDecimal.ZERO;
         }
     }
 
-    public double getCartTotal() {
+    public BigDecimal getCartTotal() {
         try {
             WebElement cartTotalElement = WebElementUtils.waitForElementToBeVisible(driver, cartTotal);
             String cartTotalText = cartTotalElement.getText().trim();
             logger.info("Raw cart total text: '" + cartTotalText + "'");
-
-            // Remove currency symbols and thousands separator (comma), keep decimal point
-            String cleanText = cartTotalText.replaceAll("[^0-9,.]", "").replaceAll(",", "").trim();
-            logger.info("Cleaned cart total text: '" + cleanText + "'");
-
-            if (cleanText.isEmpty()) {
-                logger.warn("Cart total text is empty after cleaning");
-                return 0.0;
-            }
-
-            return Double.parseDouble(cleanText);
+            return PriceParser.parse(cartTotalText);
+        } catch (NumberFormatException e) {
+            logger.warn("Cart total text has no amount: " + e.getMessage());
+            return BigDecimal.ZERO;
         } catch (Exception e) {
             logger.error("Error getting cart total: " + e.getMessage());
-            return 0.0;
+            return BigDecimal.ZERO;
         }
     }
 }
@@ -1,9 +1,12 @@
 package com.qaautomationframework.qa.pages;
 
+import com.qaautomationframework.qa.utils.PriceParser;
 import com.qaautomationframework.qa.utils.WebElementUtils;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 
+import java.math.BigDecimal;
+
 public class AmazonCheckoutPage extends BasePage {
 
     public AmazonCheckoutPage() {
@@ -42,7 +45,7 @@ public class AmazonCheckoutPage extends BasePage {
     private final By freeShippingLabel = By.xpath("//div[contains(text(),'Free Delivery')]");
 
     public void dismissPrimeOfferIfPresent() {
-        if (WebElementUtils.isElementDisplayed(driver, primeOfferNoThanks)) {
+        if (WebElementUtils.isElementDisplayed(driver, primeOfferNoThanks, optionalElementWait())) {
             WebElementUtils.clickElement(driver, primeOfferNoThanks);
             logger.info("Dismissed Amazon Prime offer");
             waitForPageLoad();
@@ -78,7 +81,7 @@ public class AmazonCheckoutPage extends BasePage {
             WebElementUtils.waitForElementToBeVisible(driver, buyNowPayLaterWithValu);
             WebElementUtils.clickElement(driver, buyNowPayLaterWithValu);
             logger.info("Selected Buy Now Pay Later with Valu");
-            if (WebElementUtils.isElementDisplayed(driver, useThisPaymentButton)) {
+            if (WebElementUtils.isElementDisplayed(driver, useThisPaymentButton, optionalElementWait())) {
                 WebElementUtils.clickElement(driver, useThisPaymentButton);
                 logger.info("Confirmed payment method");
             }
@@ -88,69 +91,57 @@ public class AmazonCheckoutPage extends BasePage {
         }
     }
 
-    public double getOrderTotal() {
+    public BigDecimal getOrderTotal() {
         try {
-            String totalText = WebElementUtils.getText(driver, orderTotal)
-                    .replace("EGP", "")
-                    .replace(",", "")
-                    .trim();
-            double total = Double.parseDouble(totalText);
+            BigDecimal total = PriceParser.parse(WebElementUtils.getText(driver, orderTotal));
             logger.info("Order total: " + total + " EGP");
             return total;
         } catch (Exception e) {
             logger.error("Failed to get order total: " + e.getMessage());
-            return 0.0;
+            return BigDecimal.ZERO;
         }
     }
 
-    public double getShippingFee() {
+    public BigDecimal getShippingFee() {
         try {
-            if (WebElementUtils.isElementDisplayed(driver, shippingFee)) {
-                String feeText = WebElementUtils.getText(driver, shippingFee)
-                        .replace("EGP", "")
-                        .replace(",", "")
-                        .trim();
-                double fee = Double.parseDouble(feeText);
+            if (WebElementUtils.isElementDisplayed(driver, shippingFee, optionalElementWait())) {
+                BigDecimal fee = PriceParser.parse(WebElementUtils.getText(driver, shippingFee));
                 logger.info("Shipping fee: " + fee + " EGP");
                 return fee;
             } else {
                 logger.info("No shipping fee (Free shipping)");
-                return 0.0;
+                return BigDecimal.ZERO;
             }
         } catch (Exception e) {
             logger.warn("Failed to get shipping fee, assuming free shipping");
-            return 0.0;
+            return BigDecimal.ZERO;
         }
     }
 
-    public double getItemsSubtotal() {
+    public BigDecimal getItemsSubtotal() {
         try {
-            String subtotalText = WebElementUtils.getText(driver, itemsSubtotal)
-                    .replace("EGP", "")
-                    .replace(",", "")
-                    .trim();
-            double subtotal = Double.parseDouble(subtotalText);
+            BigDecimal subtotal = PriceParser.parse(WebElementUtils.getText(driver, itemsSubtotal));
             logger.info("Items subtotal: " + subtotal + " EGP");
             return subtotal;
         } catch (Exception e) {
             logger.error("Failed to get items subtotal: " + e.getMessage());
-            return 0.0;
+            return BigDecimal.ZERO;
         }
     }
 
-    public boolean verifyTotalAmount(double cartSubtotal) {
-        double shippingFee = getShippingFee();
-        double itemsSubtotal = getItemsSubtotal();
+    public boolean verifyTotalAmount(BigDecimal cartSubtotal) {
+        BigDecimal shippingFee = getShippingFee();
+        BigDecimal itemsSubtotal = getItemsSubtotal();
 
-        if (WebElementUtils.isElementDisplayed(driver, freeShippingLabel)) {
+        if (WebElementUtils.isElementDisplayed(driver, freeShippingLabel, optionalElementWait())) {
             logger.info("Free shipping applied, setting shipping fee to 0");
-            shippingFee = 0;
+            shippingFee = BigDecimal.ZERO;
         }
 
-        double expectedTotal = itemsSubtotal + shippingFee;
-        double actualTotal = getOrderTotal();
+        BigDecimal expectedTotal = itemsSubtotal.add(shippingFee);
+        BigDecimal actualTotal = getOrderTotal();
 
-        boolean isCorrect = Math.abs(expectedTotal - actualTotal) < 0.01;
+        boolean isCorrect = expectedTotal.compareTo(actualTotal) == 0;
 
         if (isCorrect) {
             logger.info("Total amount verified: " + actualTotal + " EGP (Subtotal: " +
@@ -1,9 +1,15 @@
 package com.qaautomationframework.qa.pages;
 
+import com.qaautomationframework.qa.config.ConfigReader;
+import com.qaautomationframework.qa.utils.DriverManager;
+import com.qaautomationframework.qa.utils.LoginStateCache;
+import com.qaautomationframework.qa.utils.MetricsRegistry;
 import com.qaautomationframework.qa.utils.WebElementUtils;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 
+import java.time.Duration;
+
 public class AmazonLoginPage extends BasePage {
 
     // Locators
@@ -60,7 +66,55 @@ public class AmazonLoginPage extends BasePage {
         logger.info("Login completed successfully");
     }
 
+    /**
+     * Sign in by restoring the state cached from an earlier login in this JVM when it is still valid,
+     * otherwise do a full login and cache its state. Falls back to {@link #login} when login.cache.enabled=false.
+     */
+    public void loginWithSessionCache(String url, String email, String password) {
+        if (!ConfigReader.isLoginCacheEnabled()) {
+            login(url, email, password);
+            return;
+        }
+        String key = url + "|" + email;
+        if (restoreCachedLogin(key, url)) {
+            return;
+        }
+        synchronized (LoginStateCache.lockFor(key)) {
+            // Another scenario may have signed in while this one was waiting
+            if (restoreCachedLogin(key, url)) {
+                return;
+            }
+            long start = System.nanoTime();
+            login(url, email, password);
+            MetricsRegistry.recordSince("login.full", start);
+            // The account name can show up well after the post-login page load; only cache a confirmed login
+            if (WebElementUtils.isElementDisplayed(driver, accountName,
+                    Duration.ofSeconds(ConfigReader.getExplicitWait()))) {
+                LoginStateCache.put(key, DriverManager.captureSessionState());
+            } else {
+                logger.warn("Account name not shown after login, not caching the login state");
+            }
+        }
+    }
+
+    private boolean restoreCachedLogin(String key, String url) {
+        LoginStateCache.SessionState state = LoginStateCache.get(key);
+        if (state == null) {
+            return false;
+        }
+        long start = System.nanoTime();
+        DriverManager.restoreSessionState(url, state);
+        waitForPageLoad();
+        if (isUserLoggedIn()) {
+            MetricsRegistry.recordSince("login.restore", start);
+            logger.info("Signed in from cached login state");
+            return true;
+        }
+        LoginStateCache.invalidate(key, state);
+        return false;
+    }
+
     public boolean isUserLoggedIn() {
-        return WebElementUtils.isElementDisplayed(driver, accountName);
+        return WebElementUtils.isElementDisplayed(driver, accountName, optionalElementWait());
     }
 }
@@ -1,12 +1,16 @@
 package com.qaautomationframework.qa.pages;
 
+import com.qaautomationframework.qa.utils.PriceParser;
 import com.qaautomationframework.qa.utils.WebElementUtils;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 public class AmazonVideoGamesPage extends BasePage {
 
@@ -18,15 +22,32 @@ public class AmazonVideoGamesPage extends BasePage {
     private final By newConditionFilter = By.xpath("//a[contains(@href,'condition-type_1')]");
     private final By sortDropdown = By.cssSelector(".a-button-text.a-declarative");
     private final By highToLowOption = By.id("s-result-sort-select_2");
-    private final By productCards = By.cssSelector("div[data-component-type='s-search-result']");
-    private final By productName = By.cssSelector("h2.a-size-base");
-    private final By productPrice = By.cssSelector("span.a-price-whole");
-    private final By addToCartButton = By.cssSelector("button[name='submit.addToCart']");
+    private static final BigDecimal PRICE_LIMIT = BigDecimal.valueOf(15000);
+    private static final String PRODUCT_CARDS_CSS = "div[data-component-type='s-search-result']";
+    private static final String PRODUCT_NAME_CSS = "h2.a-size-base";
+    private static final String PRODUCT_PRICE_CSS = "span.a-price-whole";
+    private static final String ADD_TO_CART_CSS = "button[name='submit.addToCart']";
     private final By nextPageButton = By.cssSelector("a.s-pagination-next");
     private final By cartIcon = By.cssSelector("a#nav-cart");
     private final By deleteButton = By.xpath("//input[contains(@value,'Delete')]");
 
-    private List<String> addedProductNames = new ArrayList<>();
+    private static final String EXTRACT_PRODUCT_CARDS_SCRIPT =
+            "var cards = document.querySelectorAll(arguments[0]);"
+            + "var rows = [];"
+            + "for (var i = 0; i < cards.length; i++) {"
+            + "  var name = cards[i].querySelector(arguments[1]);"
+            + "  var price = cards[i].querySelector(arguments[2]);"
+            + "  rows.push({"
+            + "    name: name ? name.innerText : null,"
+            + "    price: price ? price.innerText : null,"
+            + "    card: cards[i],"
+            + "    addToCart: cards[i].querySelector(arguments[3])"
+            + "  });"
+            + "}"
+            + "return rows;";
+
+    // One page object per scenario; the list is never shared across scenario threads
+    private final List<String> addedProductNames = new ArrayList<>();
 
     public AmazonVideoGamesPage() {
         super();
@@ -83,54 +104,36 @@ public class AmazonVideoGamesPage extends BasePage {
         int pageNumber = 1;
 
         while (continueSearching && addedProductNames.size() < maxItems) {
-            List<WebElement> products = WebElementUtils.getElements(driver, productCards);
+            List<ProductCard> products = extractProductCards();
 
             boolean foundAnyBelow15k = false;
 
-            for (WebElement product : products) {
-                try {
-                    if (addedProductNames.size() >= maxItems) {
-                        continueSearching = false;
-                        break;
-                    }
+            for (ProductCard product : products) {
+                if (addedProductNames.size() >= maxItems) {
+                    continueSearching = false;
+                    break;
+                }
 
-                    List<WebElement> priceElements = product.findElements(productPrice);
-                    if (priceElements.isEmpty()) {
-                        continue;
-                    }
+                BigDecimal price = product.price();
+                if (price == null) {
+                    continue;
+                }
 
-                    String priceText = priceElements.get(0).getText().replaceAll("[,.]", "").trim();
-                    if (priceText.isEmpty()) {
+                if (price.compareTo(PRICE_LIMIT) < 0) {
+                    foundAnyBelow15k = true;
+                    if (!product.canAddToCart()) {
                         continue;
                     }
 
-                    double price = Double.parseDouble(priceText);
-
-                    if (price < 15000) {
-                        foundAnyBelow15k = true;
-
-                        String productNameText = "Unknown Product";
-                        try {
-                            List<WebElement> nameElements = product.findElements(productName);
-                            if (!nameElements.isEmpty()) {
-                                productNameText = nameElements.get(0).getText();
-                            }
-                        } catch (Exception e) {
-                        }
-
-                        try {
-                            WebElement addButton = product.findElement(addToCartButton);
-                            WebElementUtils.scrollToElement(driver, product);
-                            addButton.click();
-                            addedProductNames.add(productNameText);
-                            logger.info("Added product: " + productNameText + " (Price: " + price + " EGP)");
-                        } catch (Exception e) {
-                        }
-                    } else {
-                        break;
+                    try {
+                        WebElementUtils.scrollToElement(driver, product.card());
+                        product.addToCartButton().click();
+                        addedProductNames.add(product.name());
+                        logger.info("Added product: " + product.name() + " (Price: " + price + " EGP)");
+                    } catch (Exception e) {
                     }
-                } catch (Exception e) {
-                    continue;
+                } else {
+                    break;
                 }
             }
 
@@ -145,9 +148,42 @@ public class AmazonVideoGamesPage extends BasePage {
         logger.info("Total products added to cart: " + addedProductNames.size());
     }
 
+    /**
+     * Read name, price and add-to-cart button of every product card on the current results page in a
+     * single executeScript round-trip. Only the elements that are actually clicked are touched afterwards.
+     */
+    public List<ProductCard> extractProductCards() {
+        List<?> rows = (List<?>) ((JavascriptExecutor) driver).executeScript(EXTRACT_PRODUCT_CARDS_SCRIPT,
+                PRODUCT_CARDS_CSS, PRODUCT_NAME_CSS, PRODUCT_PRICE_CSS, ADD_TO_CART_CSS);
+
+        List<ProductCard> products = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            Map<?, ?> values = (Map<?, ?>) row;
+            String name = (String) values.get("name");
+            products.add(new ProductCard(
+                    name != null ? name : "Unknown Product",
+                    parsePrice((String) values.get("price")),
+                    (WebElement) values.get("card"),
+                    (WebElement) values.get("addToCart")));
+        }
+        logger.info("Extracted " + products.size() + " product cards in one round-trip");
+        return products;
+    }
+
+    private static BigDecimal parsePrice(String priceText) {
+        if (priceText == null) {
+            return null;
+        }
+        try {
+            return PriceParser.parse(priceText);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
     private boolean isNextPageAvailable() {
         try {
-            return WebElementUtils.isElementDisplayed(driver, nextPageButton);
+            return WebElementUtils.isElementDisplayed(driver, nextPageButton, optionalElementWait());
         } catch (Exception e) {
             return false;
         }
@@ -159,7 +195,7 @@ public class AmazonVideoGamesPage extends BasePage {
     }
 
     public List<String> getAddedProductNames() {
-        return addedProductNames;
+        return List.copyOf(addedProductNames);
     }
 
     public void deleteAddedProductsFromCart() {
@@ -167,4 +203,14 @@ public class AmazonVideoGamesPage extends BasePage {
         waitForPageLoad();
         WebElementUtils.clickElements(driver, deleteButton);
     }
+
+    /**
+     * Snapshot of one search result card; price is null when the card shows no price
+     */
+    public record ProductCard(String name, BigDecimal price, WebElement card, WebElement addToCartButton) {
+
+        public boolean canAddToCart() {
+            return addToCartButton != null;
+        }
+    }
 }
@@ -1,11 +1,13 @@
 package com.qaautomationframework.qa.pages;
 
+import com.qaautomationframework.qa.config.ConfigReader;
 import com.qaautomationframework.qa.utils.DriverManager;
+import com.qaautomationframework.qa.utils.PageLoadMetrics;
+import com.qaautomationframework.qa.utils.WaitEngine;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import java.time.Duration;
 
 public class BasePage {
@@ -39,14 +41,21 @@ public class BasePage {
 
     public void waitForPageLoad() {
         try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(30));
-            wait.until(webDriver -> {
+            WaitEngine.forDriver(driver).until("page load", webDriver -> {
                 JavascriptExecutor js = (JavascriptExecutor) webDriver;
                 return js.executeScript("return document.readyState").equals("complete");
-            });
+            }, Duration.ofSeconds(ConfigReader.getPageLoadTimeout()));
             logger.info("Page loaded completely");
+            PageLoadMetrics.record(driver, getClass());
         } catch (Exception e) {
             logger.warn("Page load wait timed out or failed: " + e.getMessage());
         }
     }
+
+    /**
+     * Bound for checks on elements that may not appear at all, from wait.optional.element.ms
+     */
+    protected Duration optionalElementWait() {
+        return Duration.ofMillis(ConfigReader.getOptionalElementWait());
+    }
 }
@@ -0,0 +1,144 @@
+package com.qaautomationframework.qa.utils;
+
+import com.qaautomationframework.qa.config.ConfigReader;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps each request/response in memory, next to the Response it produced, and only formats it when it is
+ * needed: on a failed exchange, when {@link #logExchange(Response, String)} is called for a failed check, or
+ * for every exchange when api.log.mode=always. Secret headers are redacted and bodies are capped. Exchanges
+ * are looked up by their Response rather than by thread, since async and batch requests run on worker
+ * threads, and are dropped once the Response is garbage collected.
+ */
+public class ApiExchangeLogFilter implements Filter {
+    private static final Logger logger = LogManager.getLogger(ApiExchangeLogFilter.class);
+    // RestAssured responses do not override equals, so this is keyed by identity. The values hold only the
+    // request side, otherwise they would keep their own keys reachable.
+    private static final Map<Response, Exchange> exchanges = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final String mode = ConfigReader.getApiLogMode();
+    private final int maxBodyChars = ConfigReader.getApiLogMaxBodyChars();
+    private final Set<String> redactedHeaders = ConfigReader.getApiLogRedactedHeaders().stream()
+            .map(name -> name.toLowerCase(Locale.ROOT))
+            .collect(Collectors.toUnmodifiableSet());
+
+    @Override
+    public Response filter(FilterableRequestSpecification request, FilterableResponseSpecification responseSpec,
+            FilterContext context) {
+        if ("off".equals(mode)) {
+            return context.next(request, responseSpec);
+        }
+
+        Exchange exchange = new Exchange(this, request.getMethod(), request.getURI(), request.getHeaders(),
+                request.getBody());
+        Response response;
+        try {
+            response = context.next(request, responseSpec);
+        } catch (RuntimeException e) {
+            logger.error("API exchange failed:{}", new Logged(exchange, null, e));
+            throw e;
+        }
+        exchanges.put(response, exchange);
+
+        if ("always".equals(mode)) {
+            logger.info("API exchange:{}", new Logged(exchange, response, null));
+        }
+        return response;
+    }
+
+    /**
+     * Write the buffered exchange that produced response, e.g. when a response check fails; whichever thread
+     * sent the request
+     */
+    public static void logExchange(Response response, String reason) {
+        Exchange exchange = response != null ? exchanges.get(response) : null;
+        if (exchange != null) {
+            logger.error("{}, API exchange:{}", reason, new Logged(exchange, response, null));
+        } else {
+            logger.error("{} (exchange not recorded, api.log.mode={})", reason, ConfigReader.getApiLogMode());
+        }
+    }
+
+    private String format(Exchange exchange, Response response, RuntimeException error) {
+        StringBuilder builder = new StringBuilder(512);
+        builder.append(System.lineSeparator()).append("Request: ").append(exchange.method).append(' ')
+                .append(exchange.uri);
+        appendHeaders(builder, exchange.requestHeaders);
+        appendBody(builder, exchange.requestBody);
+        if (response != null) {
+            builder.append(System.lineSeparator()).append("Response: ").append(response.getStatusLine());
+            appendHeaders(builder, response.getHeaders());
+            appendBody(builder, response.getBody().asString());
+        }
+        if (error != null) {
+            builder.append(System.lineSeparator()).append("Error: ").append(error);
+        }
+        return builder.toString();
+    }
+
+    private void appendHeaders(StringBuilder builder, Headers headers) {
+        for (Header header : headers) {
+            builder.append(System.lineSeparator()).append("  ").append(header.getName()).append(": ")
+                    .append(redactedHeaders.contains(header.getName().toLowerCase(Locale.ROOT))
+                            ? "[REDACTED]" : header.getValue());
+        }
+    }
+
+    private void appendBody(StringBuilder builder, Object body) {
+        if (body == null) {
+            return;
+        }
+        String text = body instanceof byte[] ? new String((byte[]) body, StandardCharsets.UTF_8) : body.toString();
+        if (text.isEmpty()) {
+            return;
+        }
+        builder.append(System.lineSeparator()).append("  Body: ");
+        if (text.length() > maxBodyChars) {
+            builder.append(text, 0, maxBodyChars).append("... [").append(text.length() - maxBodyChars)
+                    .append(" more chars]");
+        } else {
+            builder.append(text);
+        }
+    }
+
+    private static class Exchange {
+        private final ApiExchangeLogFilter filter;
+        private final String method;
+        private final String uri;
+        private final Headers requestHeaders;
+        private final Object requestBody;
+
+        private Exchange(ApiExchangeLogFilter filter, String method, String uri, Headers requestHeaders,
+                Object requestBody) {
+            this.filter = filter;
+            this.method = method;
+            this.uri = uri;
+            this.requestHeaders = requestHeaders;
+            this.requestBody = requestBody;
+        }
+    }
+
+    private record Logged(Exchange exchange, Response response, RuntimeException error) {
+        // Formatted lazily by Log4j, only when the message is actually written
+        @Override
+        public String toString() {
+            return exchange.filter.format(exchange, response, error);
+        }
+    }
+}
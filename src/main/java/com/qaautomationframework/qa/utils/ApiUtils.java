@@ -1,171 +1,415 @@
 package com.qaautomationframework.qa.utils;
 
+import com.qaautomationframework.qa.api.stub.UserApiStubServer;
 import com.qaautomationframework.qa.config.ConfigReader;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.StepResult;
 import io.restassured.RestAssured;
-import io.restassured.config.HttpClientConfig;
-import io.restassured.config.RestAssuredConfig;
+import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.http.ContentType;
+import io.restassured.http.Method;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
+import org.HdrHistogram.Histogram;
+import org.apache.http.NoHttpResponseException;
 import org.apache.http.conn.ConnectTimeoutException;
-import org.apache.http.conn.HttpHostConnectException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
 
+import java.net.ConnectException;
 import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 public class ApiUtils {
     private static final Logger logger = LogManager.getLogger(ApiUtils.class);
+    private static final AtomicInteger asyncThreadCount = new AtomicInteger();
 
-    static {
-        RestAssured.baseURI = ConfigReader.getApiBaseUrl();
-        logger.info("RestAssured base URI set to: " + RestAssured.baseURI);
+    /**
+     * Runs the async and batch requests. RestAssured only sends blocking requests, so each one in flight holds
+     * a thread; the pool has no more threads than api.http.max.connections.per.route, since a thread beyond
+     * that would only wait for a connection. Further requests queue until a thread is free. Idle threads exit
+     * after a minute.
+     */
+    private static class AsyncPool {
+        private static final ExecutorService EXECUTOR = create(ConfigReader.getApiMaxConnectionsPerRoute());
+
+        private static ExecutorService create(int threads) {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), runnable -> {
+                        Thread thread = new Thread(runnable, "api-async-" + asyncThreadCount.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+    }
+
+    /**
+     * Built on the first request, so loading ApiUtils does not read the configuration or start the stub
+     */
+    private static class BaseSpec {
+        private static final RequestSpecification INSTANCE = build();
+        private static final CircuitBreaker CIRCUIT_BREAKER = CircuitBreaker.forBaseUri(RestAssured.baseURI);
+
+        private static RequestSpecification build() {
+            RestAssured.baseURI = ConfigReader.isApiStubEnabled()
+                    ? UserApiStubServer.ensureStarted()
+                    : ConfigReader.getApiBaseUrl();
+            logger.info("RestAssured base URI set to: {}", RestAssured.baseURI);
+            RequestSpecBuilder builder = new RequestSpecBuilder();
+            // Not packaged with the framework; comes from QA_API_KEY or -Dapi.key
+            if (ConfigReader.getAPIKey() != null) {
+                builder.addHeader("x-api-key", ConfigReader.getAPIKey());
+            } else if (!ConfigReader.isApiStubEnabled()) {
+                logger.warn("api.key is not set (QA_API_KEY); sending requests without x-api-key");
+            }
+            return builder
+                    .setBaseUri(RestAssured.baseURI)
+                    .setContentType(ContentType.JSON)
+                    .setAccept(ContentType.JSON)
+                    .setConfig(HttpClientPool.forBaseUri(RestAssured.baseURI).getRestAssuredConfig()
+                            .objectMapperConfig(JsonCodec.objectMapperConfig()))
+                    .addFilter(new ApiExchangeLogFilter())
+                    .build();
+        }
     }
 
+    /**
+     * New request on top of the cached base specification; the pooled HTTP client comes with its config
+     */
     public static RequestSpecification getRequestSpec() {
         return RestAssured.given()
-                .header("x-api-key", ConfigReader.getAPIKey())
-                .contentType(ContentType.JSON)
-                .accept(ContentType.JSON)
-                .config(RestAssuredConfig.config()
-                        .httpClient(HttpClientConfig.httpClientConfig()
-                                .setParam("http.connection.timeout", ConfigReader.getApiConnectionTimeout())
-                                .setParam("http.socket.timeout", ConfigReader.getApiSocketTimeout())))
-                .log().all();
+                .spec(BaseSpec.INSTANCE);
     }
 
     public static Response post(String endpoint, Object body) {
-        try {
-            logger.info("Sending POST request to: " + endpoint);
-            Response response = getRequestSpec()
-                    .body(body)
-                    .when()
-                    .post(endpoint)
-                    .then()
-                    .log().all()
-                    .extract().response();
-
-            logger.info("POST Response Status: " + response.getStatusCode());
-            return response;
-        } catch (Exception e) {
-            if (isConnectionOrTimeoutException(e)) {
-                logger.error("POST request connection/timeout failure to: " + endpoint + " - " + e.getMessage());
-                throw new RuntimeException("Connection failed for POST " + endpoint, e);
-            }
-            logger.error("POST request failed: " + e.getMessage());
-            throw new RuntimeException("API POST request failed", e);
-        }
+        return send(Method.POST, endpoint, null, body);
     }
 
     public static Response get(String endpoint) {
-        try {
-            logger.info("Sending GET request to: " + endpoint);
-            Response response = getRequestSpec()
-                    .when()
-                    .get(endpoint)
-                    .then()
-                    .log().all()
-                    .extract().response();
-
-            logger.info("GET Response Status: " + response.getStatusCode());
-            return response;
-        } catch (Exception e) {
-            if (isConnectionOrTimeoutException(e)) {
-                logger.error("GET request connection/timeout failure to: " + endpoint + " - " + e.getMessage());
-                throw new RuntimeException("Connection failed for GET " + endpoint, e);
-            }
-            logger.error("GET request failed: " + e.getMessage());
-            throw new RuntimeException("API GET request failed", e);
-        }
+        return send(Method.GET, endpoint, null, null);
     }
 
     public static Response get(String endpoint, String pathParam) {
-        try {
-            logger.info("Sending GET request to: " + endpoint + " with param: " + pathParam);
-            Response response = getRequestSpec()
-                    .pathParam("id", pathParam)
-                    .when()
-                    .get(endpoint)
-                    .then()
-                    .log().all()
-                    .extract().response();
-
-            logger.info("GET Response Status: " + response.getStatusCode());
-            return response;
-        } catch (Exception e) {
-            if (isConnectionOrTimeoutException(e)) {
-                logger.error("GET request connection/timeout failure to: " + endpoint + " - " + e.getMessage());
-                throw new RuntimeException("Connection failed for GET " + endpoint, e);
-            }
-            logger.error("GET request failed: " + e.getMessage());
-            throw new RuntimeException("API GET request failed", e);
-        }
+        return send(Method.GET, endpoint, pathParam, null);
     }
 
     public static Response put(String endpoint, String pathParam, Object body) {
+        return send(Method.PUT, endpoint, pathParam, body);
+    }
+
+    public static Response delete(String endpoint, String pathParam) {
+        return send(Method.DELETE, endpoint, pathParam, null);
+    }
+
+    /**
+     * POST every body concurrently over the pooled client, at most api.batch.max.in.flight at a time.
+     * A failed request is reported in its item and does not stop the others.
+     */
+    public static <B> BatchResult<B> postAll(String endpoint, List<B> bodies) {
+        return batch(Method.POST, endpoint, bodies, body -> post(endpoint, body));
+    }
+
+    public static BatchResult<String> getAll(String endpoint, List<String> pathParams) {
+        return batch(Method.GET, endpoint, pathParams, pathParam -> get(endpoint, pathParam));
+    }
+
+    public static BatchResult<String> deleteAll(String endpoint, List<String> pathParams) {
+        return batch(Method.DELETE, endpoint, pathParams, pathParam -> delete(endpoint, pathParam));
+    }
+
+    /**
+     * Start a POST on a worker thread of the bounded async pool and return at once; the request still blocks
+     * that thread while it runs. Failures complete the future exceptionally with the
+     * same RuntimeException the blocking call throws; {@link #await(CompletableFuture)} rethrows it as is.
+     */
+    public static CompletableFuture<Response> postAsync(String endpoint, Object body) {
+        return sendAsync(Method.POST, endpoint, null, body);
+    }
+
+    public static CompletableFuture<Response> getAsync(String endpoint, String pathParam) {
+        return sendAsync(Method.GET, endpoint, pathParam, null);
+    }
+
+    public static CompletableFuture<Response> putAsync(String endpoint, String pathParam, Object body) {
+        return sendAsync(Method.PUT, endpoint, pathParam, body);
+    }
+
+    public static CompletableFuture<Response> deleteAsync(String endpoint, String pathParam) {
+        return sendAsync(Method.DELETE, endpoint, pathParam, null);
+    }
+
+    /**
+     * Wait for an async request. Each request is bounded by api.connection.timeout and api.socket.timeout,
+     * so this does not need a timeout of its own.
+     */
+    public static Response await(CompletableFuture<Response> future) {
         try {
-            logger.info("Sending PUT request to: " + endpoint + " with param: " + pathParam);
-            Response response = getRequestSpec()
-                    .pathParam("id", pathParam)
-                    .body(body)
-                    .when()
-                    .put(endpoint)
-                    .then()
-                    .log().all()
-                    .extract().response();
-
-            logger.info("PUT Response Status: " + response.getStatusCode());
-            return response;
-        } catch (Exception e) {
-            if (isConnectionOrTimeoutException(e)) {
-                logger.error("PUT request connection/timeout failure to: " + endpoint + " - " + e.getMessage());
-                throw new RuntimeException("Connection failed for PUT " + endpoint, e);
-            }
-            logger.error("PUT request failed: " + e.getMessage());
-            throw new RuntimeException("API PUT request failed", e);
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
         }
     }
 
-    public static Response delete(String endpoint, String pathParam) {
+    /**
+     * Wait for every async request and return the responses in the order of the futures
+     */
+    public static List<Response> awaitAll(List<CompletableFuture<Response>> futures) {
         try {
-            logger.info("Sending DELETE request to: " + endpoint + " with param: " + pathParam);
-            Response response = getRequestSpec()
-                    .pathParam("id", pathParam)
-                    .when()
-                    .delete(endpoint)
-                    .then()
-                    .log().all()
-                    .extract().response();
-
-            logger.info("DELETE Response Status: " + response.getStatusCode());
-            return response;
-        } catch (Exception e) {
-            if (isConnectionOrTimeoutException(e)) {
-                logger.error("DELETE request connection/timeout failure to: " + endpoint + " - " + e.getMessage());
-                throw new RuntimeException("Connection failed for DELETE " + endpoint, e);
-            }
-            logger.error("DELETE request failed: " + e.getMessage());
-            throw new RuntimeException("API DELETE request failed", e);
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            // Rethrown below from the first future that failed, as await() would
+        }
+        List<Response> responses = new ArrayList<>(futures.size());
+        for (CompletableFuture<Response> future : futures) {
+            responses.add(await(future));
         }
+        return responses;
     }
 
     public static void validateStatusCode(Response response, int expectedStatusCode) {
         int actualStatusCode = response.getStatusCode();
         if (actualStatusCode != expectedStatusCode) {
-            String body = response.getBody().asString();
-            logger.error("Status code mismatch! Expected: " + expectedStatusCode +
-                    ", Actual: " + actualStatusCode);
+            ApiExchangeLogFilter.logExchange(response, "Status code mismatch! Expected: " + expectedStatusCode
+                    + ", Actual: " + actualStatusCode);
             throw new AssertionError("Expected status code: " + expectedStatusCode +
                     " but got: " + actualStatusCode);
         }
-        logger.info("Status code validated: " + actualStatusCode);
+        logger.info("Status code validated: {}", actualStatusCode);
+    }
+
+    /**
+     * One request with retries: see RetryPolicy for which failures are retried and when, and CircuitBreaker
+     * for when requests to a host that keeps failing are refused without being sent
+     */
+    private static Response send(Method method, String endpoint, String pathParam, Object body) {
+        if (pathParam != null) {
+            logger.info("Sending {} request to: {} with param: {}", method, endpoint, pathParam);
+        } else {
+            logger.info("Sending {} request to: {}", method, endpoint);
+        }
+        // POJOs go out as bytes from the cached writer, skipping RestAssured's per-request mapper lookup;
+        // serialized once so every attempt sends the same body
+        Object payload = body == null || body instanceof String || body instanceof byte[]
+                ? body : JsonCodec.toBytes(body);
+        String label = method + " " + endpoint;
+        RetryPolicy retryPolicy = RetryPolicy.getInstance();
+        CircuitBreaker circuitBreaker = BaseSpec.CIRCUIT_BREAKER;
+        for (int attempt = 1; ; attempt++) {
+            boolean trial = circuitBreaker.acquire();
+            Response response;
+            try {
+                response = execute(method, endpoint, pathParam, payload);
+            } catch (Exception e) {
+                if (!isConnectionOrTimeoutException(e)) {
+                    circuitBreaker.onIgnored(trial);
+                    logger.error("{} request failed: {}", method, e.getMessage());
+                    throw new RuntimeException("API " + method + " request failed", e);
+                }
+                circuitBreaker.onFailure(trial);
+                RuntimeException failure = new RuntimeException("Connection failed for " + method + " " + endpoint, e);
+                // Once the circuit is open the next attempt could only be rejected: keep the real failure
+                IllegalStateException rejection = circuitBreaker.rejectionIfOpen();
+                if (rejection != null) {
+                    failure.addSuppressed(rejection);
+                } else if (retryPolicy.tryRetry(method.name(), attempt, label)) {
+                    backOff(label, attempt, retryPolicy.backoffMillis(attempt, null), e.getMessage());
+                    continue;
+                }
+                logger.error("{} request connection/timeout failure to: {} - {}", method, endpoint, e.getMessage());
+                throw failure;
+            }
+            if (retryPolicy.isRetryableStatus(response.getStatusCode())) {
+                circuitBreaker.onFailure(trial);
+                IllegalStateException rejection = circuitBreaker.rejectionIfOpen();
+                if (rejection != null) {
+                    logger.warn("{} got status {}, not retrying: {}", label, response.getStatusCode(),
+                            rejection.getMessage());
+                } else if (retryPolicy.tryRetry(method.name(), attempt, label)) {
+                    backOff(label, attempt, retryPolicy.backoffMillis(attempt, response),
+                            "status " + response.getStatusCode());
+                    continue;
+                }
+            } else {
+                circuitBreaker.onSuccess(trial);
+            }
+            logger.info("{} Response Status: {}", method, response.getStatusCode());
+            return response;
+        }
+    }
+
+    private static Response execute(Method method, String endpoint, String pathParam, Object payload) {
+        RequestSpecification request = getRequestSpec();
+        if (pathParam != null) {
+            request.pathParam("id", pathParam);
+        }
+        if (payload instanceof byte[]) {
+            // body(Object) would run the bytes through the object mapper again
+            request.body((byte[]) payload);
+        } else if (payload != null) {
+            request.body((String) payload);
+        }
+        Response response = request
+                .when()
+                .request(method, endpoint)
+                .then()
+                .extract().response();
+        // Buffer the body right away: the pooled connection is only released once it has been read,
+        // and callers that just check the status code would otherwise keep it leased
+        response.asByteArray();
+        return response;
+    }
+
+    private static void backOff(String label, int attempt, long delayMillis, String reason) {
+        logger.warn("{} attempt {} failed ({}), retrying in {} ms", label, attempt, reason, delayMillis);
+        try {
+            Thread.sleep(delayMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(label + " was interrupted while waiting to retry", e);
+        }
+    }
+
+    private static CompletableFuture<Response> sendAsync(Method method, String endpoint, String pathParam,
+                                                         Object body) {
+        String label = method + " " + endpoint;
+        long start = System.nanoTime();
+        MetricsRegistry.increment("api.async.requests");
+        return CompletableFuture.supplyAsync(inCallerContext(label, () -> send(method, endpoint, pathParam, body)),
+                        AsyncPool.EXECUTOR)
+                .whenComplete((response, error) -> {
+                    MetricsRegistry.recordSince("api.async." + label, start);
+                    if (error != null) {
+                        MetricsRegistry.increment("api.async.failures." + label);
+                    }
+                });
+    }
+
+    /**
+     * Wraps a request for a worker thread so it runs in the caller's context: the log4j ThreadContext (the
+     * scenario key routes its logs to the scenario's log file) and, inside a scenario, an Allure step of its
+     * own under the test case, which receives any attachment a filter such as AllureRestAssured adds. The
+     * step hangs off the test case rather than the current Cucumber step, since that step may be over by
+     * the time the request runs.
+     */
+    private static <T> Supplier<T> inCallerContext(String label, Supplier<T> request) {
+        Map<String, String> context = ThreadContext.getImmutableContext();
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        Optional<String> testCase = lifecycle.getCurrentTestCase();
+        return () -> {
+            ThreadContext.putAll(context);
+            String stepUuid = UUID.randomUUID().toString();
+            testCase.ifPresent(parent -> lifecycle.startStep(parent, stepUuid, new StepResult().setName(label)));
+            Response response = null;
+            try {
+                T result = request.get();
+                response = responseOf(result);
+                return result;
+            } finally {
+                if (testCase.isPresent()) {
+                    // Broken when no response came back; whether the status code is right is for the caller to check
+                    String name = response != null ? label + " -> " + response.getStatusCode() : label;
+                    Status status = response != null ? Status.PASSED : Status.BROKEN;
+                    lifecycle.updateStep(stepUuid, step -> step.setName(name).setStatus(status));
+                    lifecycle.stopStep(stepUuid);
+                }
+                ThreadContext.clearMap();
+            }
+        };
+    }
+
+    private static Response responseOf(Object result) {
+        return result instanceof BatchResult.Item<?> ? ((BatchResult.Item<?>) result).getResponse() : (Response) result;
+    }
+
+    private static <I> BatchResult<I> batch(Method method, String endpoint, List<I> inputs,
+                                            Function<I, Response> call) {
+        String label = method + " " + endpoint;
+        int maxInFlight = ConfigReader.getApiBatchMaxInFlight();
+        logger.info("Sending {} {} requests, at most {} in flight", inputs.size(), label, maxInFlight);
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        List<CompletableFuture<BatchResult.Item<I>>> futures = new ArrayList<>(inputs.size());
+        long start = System.nanoTime();
+        try {
+            for (int i = 0; i < inputs.size(); i++) {
+                int index = i;
+                I input = inputs.get(i);
+                inFlight.acquire();
+                futures.add(CompletableFuture.supplyAsync(inCallerContext(label, () -> {
+                    long requestStart = System.nanoTime();
+                    try {
+                        Response response = call.apply(input);
+                        return new BatchResult.Item<>(index, input, response, null, System.nanoTime() - requestStart);
+                    } catch (RuntimeException e) {
+                        return new BatchResult.Item<>(index, input, null, e, System.nanoTime() - requestStart);
+                    } finally {
+                        inFlight.release();
+                    }
+                }), AsyncPool.EXECUTOR));
+            }
+            List<BatchResult.Item<I>> items = new ArrayList<>(inputs.size());
+            for (CompletableFuture<BatchResult.Item<I>> future : futures) {
+                items.add(future.get());
+            }
+            long wallNanos = System.nanoTime() - start;
+
+            Histogram latency = new Histogram(3);
+            for (BatchResult.Item<I> item : items) {
+                latency.recordValue(TimeUnit.NANOSECONDS.toMicros(item.getLatencyNanos()));
+                MetricsRegistry.recordNanos("api.batch." + label, item.getLatencyNanos());
+                if (!item.isSuccess()) {
+                    MetricsRegistry.increment("api.batch.failures." + label);
+                    if (item.getResponse() != null) {
+                        ApiExchangeLogFilter.logExchange(item.getResponse(),
+                                "Batch " + label + " item failed: " + item);
+                    } else {
+                        // A request that threw was logged with its exchange by the filter, on the worker thread
+                        logger.warn("Batch {} item failed: {}", label, item);
+                    }
+                }
+            }
+            BatchResult<I> result = new BatchResult<>(label, items, latency, wallNanos);
+            logger.info("{}", result);
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(future -> future.cancel(true));
+            throw new RuntimeException("Batch " + label + " was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Batch " + label + " failed", e.getCause());
+        }
     }
 
+    /**
+     * Failures that say the host is unreachable or slow rather than the request being wrong: these are retried
+     * and count towards opening the circuit. ConnectException covers HttpHostConnectException and a plain
+     * "connection refused"; NoHttpResponseException is a kept-alive connection the server had already dropped.
+     */
     private static boolean isConnectionOrTimeoutException(Throwable e) {
         while (e != null) {
             if (e instanceof ConnectTimeoutException
                     || e instanceof SocketTimeoutException
-                    || e instanceof HttpHostConnectException) {
+                    || e instanceof ConnectException
+                    || e instanceof NoHttpResponseException) {
                 return true;
             }
             e = e.getCause();
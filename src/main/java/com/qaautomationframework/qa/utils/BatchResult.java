@@ -0,0 +1,148 @@
+package com.qaautomationframework.qa.utils;
+
+import io.restassured.response.Response;
+import org.HdrHistogram.Histogram;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of a batch call in {@link ApiUtils}: one {@link Item} per input, in input order, plus the latency
+ * of the whole batch
+ *
+ * @param <I> input of each request, e.g. the User body or the user ID
+ */
+public class BatchResult<I> {
+
+    /**
+     * One request of the batch: the response, or the exception that prevented one
+     */
+    public static class Item<I> {
+        private final int index;
+        private final I input;
+        private final Response response;
+        private final RuntimeException error;
+        private final long latencyNanos;
+
+        Item(int index, I input, Response response, RuntimeException error, long latencyNanos) {
+            this.index = index;
+            this.input = input;
+            this.response = response;
+            this.error = error;
+            this.latencyNanos = latencyNanos;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public I getInput() {
+            return input;
+        }
+
+        /**
+         * Null when the request failed before a response came back
+         */
+        public Response getResponse() {
+            return response;
+        }
+
+        public RuntimeException getError() {
+            return error;
+        }
+
+        /**
+         * HTTP status, or -1 when there was no response
+         */
+        public int getStatusCode() {
+            return response != null ? response.getStatusCode() : -1;
+        }
+
+        public boolean isSuccess() {
+            return response != null && response.getStatusCode() < 400;
+        }
+
+        public long getLatencyNanos() {
+            return latencyNanos;
+        }
+
+        public double getLatencyMs() {
+            return latencyNanos / 1e6;
+        }
+
+        @Override
+        public String toString() {
+            return "#" + index + " " + input + " -> "
+                    + (response != null ? String.valueOf(response.getStatusCode()) : error.getMessage())
+                    + " (" + String.format("%.1f", getLatencyMs()) + " ms)";
+        }
+    }
+
+    private final String label;
+    private final List<Item<I>> items;
+    private final Histogram latency;
+    private final long wallNanos;
+
+    BatchResult(String label, List<Item<I>> items, Histogram latency, long wallNanos) {
+        this.label = label;
+        this.items = Collections.unmodifiableList(items);
+        this.latency = latency;
+        this.wallNanos = wallNanos;
+    }
+
+    /**
+     * Items in the order of the inputs, whatever order the responses came back in
+     */
+    public List<Item<I>> getItems() {
+        return items;
+    }
+
+    public Item<I> get(int index) {
+        return items.get(index);
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    public List<Item<I>> getFailures() {
+        return items.stream().filter(item -> !item.isSuccess()).toList();
+    }
+
+    public boolean allSucceeded() {
+        return items.stream().allMatch(Item::isSuccess);
+    }
+
+    /**
+     * Items whose status differs from the expected one, including those without a response
+     */
+    public List<Item<I>> withStatusOtherThan(int expectedStatusCode) {
+        return items.stream().filter(item -> item.getStatusCode() != expectedStatusCode).toList();
+    }
+
+    public double getWallTimeMs() {
+        return wallNanos / 1e6;
+    }
+
+    /**
+     * Per-request latency of this batch: count, p50/p95/p99/max/mean in ms
+     */
+    public Map<String, Object> getLatency() {
+        return MetricsRegistry.describe(latency);
+    }
+
+    /**
+     * Sum of the request latencies over the wall time, i.e. how many requests were in flight on average
+     */
+    public double getConcurrency() {
+        return wallNanos == 0 ? 0 : items.stream().mapToLong(Item::getLatencyNanos).sum() / (double) wallNanos;
+    }
+
+    @Override
+    public String toString() {
+        return label + ": " + size() + " requests, " + getFailures().size() + " failed, "
+                + String.format("%.1f", getWallTimeMs()) + " ms wall, "
+                + String.format("%.1f", getConcurrency()) + " in flight on average, latency " + getLatency();
+    }
+}
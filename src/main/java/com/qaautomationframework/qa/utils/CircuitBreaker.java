@@ -0,0 +1,149 @@
+package com.qaautomationframework.qa.utils;
+
+import com.qaautomationframework.qa.config.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Circuit breaker per API host. After api.circuit.failure.threshold consecutive connection/timeout failures
+ * (or retryable statuses) the circuit opens, and for api.circuit.open.ms every request to the host fails at
+ * once instead of waiting out api.connection.timeout. Then a single trial request is let through: if it
+ * succeeds the circuit closes, otherwise it opens again. Only the trial decides; requests that were already
+ * in flight when the circuit opened do not change its state when they finish.
+ */
+public class CircuitBreaker {
+    private static final Logger logger = LogManager.getLogger(CircuitBreaker.class);
+    private static final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String host;
+    private final int failureThreshold;
+    private final long openNanos;
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    public CircuitBreaker(String host, int failureThreshold, Duration openDuration) {
+        this.host = host;
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+    }
+
+    /**
+     * Breaker for the host of a base URI such as http://127.0.0.1:41234. With api.circuit.breaker.enabled=false
+     * it never opens.
+     */
+    public static CircuitBreaker forBaseUri(String baseUri) {
+        String host = URI.create(baseUri).getAuthority();
+        return breakers.computeIfAbsent(host, key -> new CircuitBreaker(key,
+                ConfigReader.isApiCircuitBreakerEnabled() ? ConfigReader.getApiCircuitFailureThreshold() : Integer.MAX_VALUE,
+                Duration.ofMillis(ConfigReader.getApiCircuitOpen())));
+    }
+
+    /**
+     * Call before each request and pass the result to onSuccess/onFailure/onIgnored when it is done; throws
+     * IllegalStateException when the circuit is open, or half-open with its trial request still running
+     *
+     * @return true when this request is the half-open trial
+     */
+    public synchronized boolean acquire() {
+        IllegalStateException rejection = rejectionIfOpen();
+        if (rejection != null) {
+            MetricsRegistry.increment("api.circuit.rejected." + host);
+            throw rejection;
+        }
+        if (state == State.OPEN) {
+            transition(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialInFlight) {
+                MetricsRegistry.increment("api.circuit.rejected." + host);
+                throw rejection("half-open, waiting for its trial request");
+            }
+            trialInFlight = true;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @param trial what {@link #acquire()} returned for the request
+     */
+    public synchronized void onSuccess(boolean trial) {
+        if (trial) {
+            trialInFlight = false;
+            consecutiveFailures = 0;
+            transition(State.CLOSED);
+        } else if (state == State.CLOSED) {
+            consecutiveFailures = 0;
+        }
+    }
+
+    /**
+     * @param trial what {@link #acquire()} returned for the request
+     */
+    public synchronized void onFailure(boolean trial) {
+        if (trial) {
+            trialInFlight = false;
+            consecutiveFailures++;
+            openedAt = System.nanoTime();
+            transition(State.OPEN);
+        } else if (state == State.CLOSED && ++consecutiveFailures >= failureThreshold) {
+            openedAt = System.nanoTime();
+            transition(State.OPEN);
+        }
+    }
+
+    /**
+     * The request failed for a reason that says nothing about the host; frees the trial slot if it held it
+     */
+    public synchronized void onIgnored(boolean trial) {
+        if (trial) {
+            trialInFlight = false;
+        }
+    }
+
+    /**
+     * The exception {@link #acquire()} would throw while the circuit is open and not yet due for a trial, or
+     * null; lets a caller report it alongside the failure that opened the circuit instead of retrying
+     */
+    public synchronized IllegalStateException rejectionIfOpen() {
+        if (state != State.OPEN) {
+            return null;
+        }
+        long remainingNanos = openNanos - (System.nanoTime() - openedAt);
+        return remainingNanos > 0
+                ? rejection("open after " + consecutiveFailures + " consecutive failures, retrying the host in "
+                        + TimeUnit.NANOSECONDS.toMillis(remainingNanos) + " ms")
+                : null;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private IllegalStateException rejection(String reason) {
+        return new IllegalStateException("Circuit breaker for " + host + " is " + reason);
+    }
+
+    private void transition(State next) {
+        MetricsRegistry.increment("api.circuit." + next.name().toLowerCase() + "." + host);
+        if (next == State.OPEN) {
+            logger.warn("Circuit for " + host + " opened after " + consecutiveFailures
+                    + " consecutive failures; failing fast for " + TimeUnit.NANOSECONDS.toMillis(openNanos) + " ms");
+        } else {
+            logger.info("Circuit for " + host + " is now " + next + " (was " + state + ")");
+        }
+        state = next;
+    }
+}
@@ -0,0 +1,207 @@
+package com.qaautomationframework.qa.utils;
+
+import com.qaautomationframework.qa.config.ConfigReader;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Resolves the chromedriver/geckodriver/msedgedriver binary once per JVM instead of on every driver start.
+ * The result is also written to driver.binary.cache.file, so later runs on the same machine skip
+ * WebDriverManager until the entry is older than driver.binary.cache.ttl.hours. With
+ * driver.binary.offline=true only that file (or an explicit webdriver.*.driver property) is used and the
+ * network is never touched. The cache file lives under ~/.cache by default so that mvn clean keeps it.
+ */
+public class DriverBinaryResolver {
+    private static final Logger logger = LogManager.getLogger(DriverBinaryResolver.class);
+    private static final ConcurrentMap<String, Resolution> resolved = new ConcurrentHashMap<>();
+    private static final Map<String, String> DRIVER_PROPERTIES = Map.of(
+            "chrome", "webdriver.chrome.driver",
+            "firefox", "webdriver.gecko.driver",
+            "edge", "webdriver.edge.driver");
+    // webdriver.*.driver as given on the command line; setup() overwrites the properties with what it resolved
+    private static final Map<String, String> USER_SUPPLIED_PATHS = userSuppliedPaths();
+
+    private record Resolution(String path, String version, long resolveMillis, Instant resolvedAt) {
+    }
+
+    /**
+     * Make sure the driver binary for browser is resolved and its webdriver.*.driver property is set
+     */
+    public static void setup(String browser) {
+        String key = browser.toLowerCase();
+        boolean[] reused = { true };
+        Resolution resolution = resolved.computeIfAbsent(key, k -> {
+            reused[0] = false;
+            return resolve(k);
+        });
+        System.setProperty(DRIVER_PROPERTIES.get(key), resolution.path());
+        if (reused[0]) {
+            MetricsRegistry.increment("driver.binary.reused");
+            MetricsRegistry.increment("driver.binary.saved.ms", resolution.resolveMillis());
+            logger.debug("Reusing " + key + " driver " + resolution.path() + ", saved ~" + resolution.resolveMillis()
+                    + " ms of resolution");
+        }
+    }
+
+    /**
+     * Forget the resolution for browser, e.g. after the installed browser was updated and the driver no
+     * longer matches it. The next {@link #setup(String)} resolves again.
+     */
+    public static void invalidate(String browser) {
+        String key = browser.toLowerCase();
+        if (resolved.remove(key) != null) {
+            logger.info("Dropped cached " + key + " driver resolution");
+        }
+        Path cacheFile = cacheFile();
+        if (cacheFile != null && !ConfigReader.isDriverBinaryOffline()) {
+            synchronized (DriverBinaryResolver.class) {
+                Properties entries = readCacheFile(cacheFile);
+                entries.stringPropertyNames().stream().filter(name -> name.startsWith(key + "."))
+                        .forEach(entries::remove);
+                writeCacheFile(cacheFile, entries);
+            }
+        }
+    }
+
+    public static void logStatistics() {
+        logger.info("Driver binary resolution:" + MetricsRegistry.summary("driver.binary."));
+    }
+
+    private static Resolution resolve(String browser) {
+        String property = DRIVER_PROPERTIES.get(browser);
+        if (property == null) {
+            throw new IllegalArgumentException("Browser not supported: " + browser);
+        }
+        String explicit = USER_SUPPLIED_PATHS.get(browser);
+        if (explicit != null && Files.isExecutable(Paths.get(explicit))) {
+            logger.info("Using " + browser + " driver from " + property + ": " + explicit);
+            return new Resolution(explicit, "unknown", 0, Instant.now());
+        }
+
+        Path cacheFile = cacheFile();
+        Resolution persisted = cacheFile != null ? readPersisted(cacheFile, browser) : null;
+        if (persisted != null) {
+            Duration age = Duration.between(persisted.resolvedAt(), Instant.now());
+            boolean fresh = age.compareTo(Duration.ofHours(ConfigReader.getDriverBinaryCacheTtlHours())) < 0;
+            if (fresh || ConfigReader.isDriverBinaryOffline()) {
+                logger.info("Using " + browser + " driver " + persisted.version() + " resolved " + age.toHours()
+                        + "h ago: " + persisted.path());
+                MetricsRegistry.increment("driver.binary.persisted");
+                MetricsRegistry.increment("driver.binary.saved.ms", persisted.resolveMillis());
+                return persisted;
+            }
+        }
+        if (ConfigReader.isDriverBinaryOffline()) {
+            throw new IllegalStateException("driver.binary.offline=true but no " + browser + " driver is cached in "
+                    + cacheFile + "; run once online or set -D" + property + "=<path>");
+        }
+
+        long start = System.nanoTime();
+        WebDriverManager manager = switch (browser) {
+            case "firefox" -> WebDriverManager.firefoxdriver();
+            case "edge" -> WebDriverManager.edgedriver();
+            default -> WebDriverManager.chromedriver();
+        };
+        manager.setup();
+        long resolveMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+        MetricsRegistry.recordSince("driver.binary.resolve", start);
+        Resolution resolution = new Resolution(manager.getDownloadedDriverPath(),
+                manager.getDownloadedDriverVersion(), resolveMillis, Instant.now());
+        logger.info("Resolved " + browser + " driver " + resolution.version() + " in " + resolveMillis + " ms: "
+                + resolution.path());
+        if (cacheFile != null) {
+            persist(cacheFile, browser, resolution);
+        }
+        return resolution;
+    }
+
+    private static Map<String, String> userSuppliedPaths() {
+        Map<String, String> paths = new ConcurrentHashMap<>();
+        DRIVER_PROPERTIES.forEach((browser, property) -> {
+            String path = System.getProperty(property);
+            if (path != null && !path.isBlank()) {
+                paths.put(browser, path);
+            }
+        });
+        return Map.copyOf(paths);
+    }
+
+    // A leading ~ stands for the user's home directory, so the default location works on every machine
+    private static Path cacheFile() {
+        String file = ConfigReader.getDriverBinaryCacheFile();
+        if (file == null || file.isBlank()) {
+            return null;
+        }
+        if (file.equals("~") || file.startsWith("~/")) {
+            return Paths.get(System.getProperty("user.home") + file.substring(1));
+        }
+        return Paths.get(file);
+    }
+
+    private static Resolution readPersisted(Path cacheFile, String browser) {
+        Properties entries = readCacheFile(cacheFile);
+        String path = entries.getProperty(browser + ".path");
+        if (path == null || !Files.isExecutable(Paths.get(path))) {
+            return null;
+        }
+        try {
+            return new Resolution(path, entries.getProperty(browser + ".version", "unknown"),
+                    Long.parseLong(entries.getProperty(browser + ".resolve.ms", "0")),
+                    Instant.ofEpochMilli(Long.parseLong(entries.getProperty(browser + ".resolved.at", "0"))));
+        } catch (NumberFormatException e) {
+            logger.warn("Ignoring malformed " + browser + " entry in " + cacheFile);
+            return null;
+        }
+    }
+
+    private static synchronized void persist(Path cacheFile, String browser, Resolution resolution) {
+        Properties entries = readCacheFile(cacheFile);
+        entries.setProperty(browser + ".path", resolution.path());
+        entries.setProperty(browser + ".version", String.valueOf(resolution.version()));
+        entries.setProperty(browser + ".resolve.ms", String.valueOf(resolution.resolveMillis()));
+        entries.setProperty(browser + ".resolved.at", String.valueOf(resolution.resolvedAt().toEpochMilli()));
+        writeCacheFile(cacheFile, entries);
+    }
+
+    private static Properties readCacheFile(Path cacheFile) {
+        Properties entries = new Properties();
+        if (Files.exists(cacheFile)) {
+            try (InputStream in = Files.newInputStream(cacheFile)) {
+                entries.load(in);
+            } catch (IOException e) {
+                logger.warn("Could not read " + cacheFile + ": " + e.getMessage());
+            }
+        }
+        return entries;
+    }
+
+    // Written to a temporary file and moved into place, so parallel JVMs never read a half written file
+    private static void writeCacheFile(Path cacheFile, Properties entries) {
+        try {
+            Path directory = cacheFile.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, cacheFile.getFileName().toString(), ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                entries.store(out, "Resolved WebDriver binaries");
+            }
+            Files.move(temp, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Could not write " + cacheFile + ": " + e.getMessage());
+        }
+    }
+}
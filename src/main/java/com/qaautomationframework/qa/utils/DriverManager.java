@@ -1,9 +1,12 @@
 package com.qaautomationframework.qa.utils;
 
 import com.qaautomationframework.qa.config.ConfigReader;
-import io.github.bonigarcia.wdm.WebDriverManager;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.InvalidCookieDomainException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.SessionNotCreatedException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
@@ -13,6 +16,12 @@ import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
 
 import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * Driver Manager to initialize and manage WebDriver instances
@@ -20,20 +29,37 @@ import java.time.Duration;
 public class DriverManager {
     private static final Logger logger = LogManager.getLogger(DriverManager.class);
     private static ThreadLocal<WebDriver> driver = new ThreadLocal<>();
+    // The undecorated session, which is what the pool hands out and takes back
+    private static ThreadLocal<WebDriver> rawDriver = new ThreadLocal<>();
+    private static volatile WebDriverPool pool;
 
     /**
-     * Initialize WebDriver based on browser configuration
+     * Initialize WebDriver for the current thread, leasing a warm session when the pool is enabled. With
+     * driver.metrics.enabled the scenario gets a decorated driver that times every call.
      */
     public static void initializeDriver() {
+        if (ConfigReader.isDriverPoolEnabled()) {
+            rawDriver.set(getPool().acquire());
+        } else {
+            rawDriver.set(createDriver());
+        }
+        driver.set(WebDriverMetrics.decorate(rawDriver.get()));
+    }
+
+    /**
+     * Launch a new browser based on browser configuration, locally or on a grid node when driver.mode=remote
+     */
+    static WebDriver createDriver() {
         String browser = ConfigReader.getBrowser().toLowerCase();
         boolean headless = ConfigReader.isHeadless();
+        boolean remote = ConfigReader.isRemoteDriver();
 
-        logger.info("Initializing " + browser + " driver (Headless: " + headless + ")");
+        logger.info("Initializing " + (remote ? "remote " : "") + browser + " driver (Headless: " + headless + ")");
 
         try {
+            WebDriver webDriver;
             switch (browser) {
                 case "chrome":
-                    WebDriverManager.chromedriver().setup();
                     ChromeOptions chromeOptions = new ChromeOptions();
                     if (headless) {
                         chromeOptions.addArguments("--headless");
@@ -43,25 +69,38 @@ public class DriverManager {
                     chromeOptions.addArguments("--disable-popup-blocking");
                     chromeOptions.addArguments("--disable-blink-features=AutomationControlled");
                     chromeOptions.setExperimentalOption("excludeSwitches", new String[] { "enable-automation" });
-                    driver.set(new ChromeDriver(chromeOptions));
+                    ResourceBlocker.configure(chromeOptions);
+                    if (remote) {
+                        webDriver = GridScheduler.getInstance().newSession(chromeOptions);
+                    } else {
+                        webDriver = startLocal("chrome", () -> new ChromeDriver(chromeOptions));
+                    }
                     break;
 
                 case "firefox":
-                    WebDriverManager.firefoxdriver().setup();
                     FirefoxOptions firefoxOptions = new FirefoxOptions();
                     if (headless) {
                         firefoxOptions.addArguments("--headless");
                     }
-                    driver.set(new FirefoxDriver(firefoxOptions));
+                    ResourceBlocker.configure(firefoxOptions);
+                    if (remote) {
+                        webDriver = GridScheduler.getInstance().newSession(firefoxOptions);
+                    } else {
+                        webDriver = startLocal("firefox", () -> new FirefoxDriver(firefoxOptions));
+                    }
                     break;
 
                 case "edge":
-                    WebDriverManager.edgedriver().setup();
                     EdgeOptions edgeOptions = new EdgeOptions();
                     if (headless) {
                         edgeOptions.addArguments("--headless");
                     }
-                    driver.set(new EdgeDriver(edgeOptions));
+                    ResourceBlocker.configure(edgeOptions);
+                    if (remote) {
+                        webDriver = GridScheduler.getInstance().newSession(edgeOptions);
+                    } else {
+                        webDriver = startLocal("edge", () -> new EdgeDriver(edgeOptions));
+                    }
                     break;
 
                 default:
@@ -69,12 +108,15 @@ public class DriverManager {
                     throw new IllegalArgumentException("Browser not supported: " + browser);
             }
 
-            getDriver().manage().window().maximize();
-            getDriver().manage().deleteAllCookies();
-            getDriver().manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
-            getDriver().manage().timeouts().pageLoadTimeout(Duration.ofSeconds(30));
+            ResourceBlocker.apply(webDriver);
+            webDriver.manage().window().maximize();
+            webDriver.manage().deleteAllCookies();
+            // No implicit wait: it would stack with every explicit wait in WaitEngine and slow negative lookups
+            webDriver.manage().timeouts().implicitlyWait(Duration.ZERO);
+            webDriver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(ConfigReader.getPageLoadTimeout()));
 
             logger.info("Driver initialized successfully");
+            return webDriver;
 
         } catch (Exception e) {
             logger.error("Failed to initialize driver: " + e.getMessage());
@@ -82,6 +124,23 @@ public class DriverManager {
         }
     }
 
+    /**
+     * Start a local browser with the cached driver binary; if the binary no longer matches the installed
+     * browser (e.g. after a browser update), resolve it again once
+     */
+    private static WebDriver startLocal(String browser, Supplier<WebDriver> launcher) {
+        DriverBinaryResolver.setup(browser);
+        try {
+            return launcher.get();
+        } catch (SessionNotCreatedException e) {
+            logger.warn("Could not start " + browser + " with the cached driver, resolving it again: "
+                    + e.getRawMessage());
+            DriverBinaryResolver.invalidate(browser);
+            DriverBinaryResolver.setup(browser);
+            return launcher.get();
+        }
+    }
+
     /**
      * Get the current WebDriver instance
      */
@@ -90,13 +149,92 @@ public class DriverManager {
     }
 
     /**
-     * Quit the WebDriver instance
+     * Quit the WebDriver instance, or hand it back to the pool for reuse
      */
     public static void quitDriver() {
         if (driver.get() != null) {
-            logger.info("Quitting driver");
-            driver.get().quit();
+            if (pool != null && ConfigReader.isDriverPoolEnabled()) {
+                logger.info("Releasing driver to pool");
+                pool.release(rawDriver.get());
+            } else {
+                logger.info("Quitting driver");
+                rawDriver.get().quit();
+            }
             driver.remove();
+            rawDriver.remove();
+        }
+    }
+
+    /**
+     * Cookies and local storage of the current page's site, to sign later sessions in without a login
+     */
+    public static LoginStateCache.SessionState captureSessionState() {
+        WebDriver webDriver = getDriver();
+        Set<Cookie> cookies = new HashSet<>(webDriver.manage().getCookies());
+        @SuppressWarnings("unchecked")
+        Map<String, String> localStorage = (Map<String, String>) ((JavascriptExecutor) webDriver).executeScript(
+                "var state = {};"
+                        + "for (var i = 0; i < window.localStorage.length; i++) {"
+                        + "  var key = window.localStorage.key(i); state[key] = window.localStorage.getItem(key);"
+                        + "}"
+                        + "return state;");
+        return new LoginStateCache.SessionState(Set.copyOf(cookies),
+                localStorage != null ? Map.copyOf(localStorage) : Map.of(), Instant.now());
+    }
+
+    /**
+     * Open url and replace its cookies and local storage with a captured state, then reload the page
+     */
+    public static void restoreSessionState(String url, LoginStateCache.SessionState state) {
+        WebDriver webDriver = getDriver();
+        // Cookies can only be set for the site that is currently open
+        webDriver.get(url);
+        webDriver.manage().deleteAllCookies();
+        Date now = new Date();
+        for (Cookie cookie : state.cookies()) {
+            if (cookie.getExpiry() != null && cookie.getExpiry().before(now)) {
+                continue;
+            }
+            try {
+                webDriver.manage().addCookie(cookie);
+            } catch (InvalidCookieDomainException e) {
+                logger.debug("Skipping cookie " + cookie.getName() + " for domain " + cookie.getDomain());
+            }
+        }
+        ((JavascriptExecutor) webDriver).executeScript(
+                "window.localStorage.clear();"
+                        + "for (var key in arguments[0]) { window.localStorage.setItem(key, arguments[0][key]); }",
+                state.localStorage());
+        webDriver.navigate().refresh();
+    }
+
+    /**
+     * Quit all pooled sessions; called once after the last scenario
+     */
+    public static synchronized void shutdownPool() {
+        if (pool != null) {
+            pool.close();
+            pool = null;
+        }
+    }
+
+    private static WebDriverPool getPool() {
+        if (pool == null) {
+            synchronized (DriverManager.class) {
+                if (pool == null) {
+                    int size = ConfigReader.getDriverPoolSize();
+                    WebDriverPool newPool = new WebDriverPool(DriverManager::createDriver, size,
+                            ConfigReader.getDriverPoolMaxReuse(),
+                            Duration.ofMinutes(ConfigReader.getDriverPoolMaxAgeMinutes()),
+                            Duration.ofSeconds(ConfigReader.getDriverPoolAcquireTimeout()));
+                    // The first caller launches its own browser, the rest are warmed in the background
+                    newPool.prewarm(size - 1);
+                    Runtime.getRuntime().addShutdownHook(new Thread(DriverManager::shutdownPool));
+                    pool = newPool;
+                    logger.info("Driver pool created with " + size + " sessions");
+                }
+            }
         }
+        return pool;
     }
 }
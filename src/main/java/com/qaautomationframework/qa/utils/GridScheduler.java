@@ -0,0 +1,289 @@
+package com.qaautomationframework.qa.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.qaautomationframework.qa.config.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Starts RemoteWebDriver sessions on the Selenium nodes (standalone servers or hubs) listed in grid.nodes.
+ * Each session goes to the healthy node with the lowest share of its capacity in use; capacity is the
+ * maxSessions reported by the node's /status, or grid.node.max.sessions when it reports none. When every
+ * node is full the caller waits for a slot, up to grid.acquire.timeout.seconds. A node that fails to start
+ * a session is taken out of rotation until its next health check and the session is retried on another
+ * node, up to grid.session.retries times.
+ */
+public class GridScheduler {
+    private static final Logger logger = LogManager.getLogger(GridScheduler.class);
+    private static final Duration STATUS_TIMEOUT = Duration.ofSeconds(5);
+    private static volatile GridScheduler instance;
+
+    private final List<Node> nodes = new ArrayList<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition slotFreed = lock.newCondition();
+    private final HttpClient statusClient = HttpClient.newBuilder().connectTimeout(STATUS_TIMEOUT).build();
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final int defaultCapacity;
+    private final int retries;
+    private final Duration acquireTimeout;
+    private final ScheduledExecutorService healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "grid-health-check");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public GridScheduler(List<String> nodeUrls, int defaultCapacity, int retries, Duration healthInterval,
+            Duration acquireTimeout) {
+        for (String url : nodeUrls) {
+            nodes.add(new Node(url.replaceAll("/+$", ""), defaultCapacity));
+        }
+        this.defaultCapacity = defaultCapacity;
+        this.retries = retries;
+        this.acquireTimeout = acquireTimeout;
+        checkHealth();
+        healthChecker.scheduleWithFixedDelay(this::checkHealth, healthInterval.toMillis(), healthInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Scheduler for grid.nodes, created on first use
+     */
+    public static GridScheduler getInstance() {
+        if (instance == null) {
+            synchronized (GridScheduler.class) {
+                if (instance == null) {
+                    instance = new GridScheduler(ConfigReader.getGridNodes(), ConfigReader.getGridNodeMaxSessions(),
+                            ConfigReader.getGridSessionRetries(),
+                            Duration.ofSeconds(ConfigReader.getGridHealthInterval()),
+                            Duration.ofSeconds(ConfigReader.getGridAcquireTimeout()));
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Start a session on the least loaded node. Quitting the returned driver frees its slot.
+     */
+    public WebDriver newSession(Capabilities capabilities) {
+        Set<Node> failed = new HashSet<>();
+        WebDriverException lastFailure = null;
+        for (int attempt = 0; attempt <= retries; attempt++) {
+            Node node = reserve(failed);
+            if (node == null) {
+                break;
+            }
+            long start = System.nanoTime();
+            try {
+                WebDriver session = new GridSession(node, capabilities);
+                MetricsRegistry.recordSince("grid.session.create", start);
+                MetricsRegistry.increment("grid.sessions." + node.name);
+                logger.info("Started " + capabilities.getBrowserName() + " session on " + node.name + " ("
+                        + node.active + "/" + node.capacity + " slots in use)");
+                return session;
+            } catch (WebDriverException e) {
+                MetricsRegistry.increment("grid.session.failures." + node.name);
+                logger.warn("Session creation failed on " + node.name + ", trying another node: "
+                        + e.getMessage().lines().findFirst().orElse(""));
+                failed.add(node);
+                node.healthy = false;
+                free(node);
+                lastFailure = e;
+            }
+        }
+        throw new IllegalStateException("Could not start a session on any grid node " + nodeNames(), lastFailure);
+    }
+
+    /**
+     * Query /status of every node and update its health and capacity
+     */
+    public void checkHealth() {
+        for (Node node : nodes) {
+            boolean wasHealthy = node.healthy;
+            try {
+                HttpResponse<String> response = statusClient.send(
+                        HttpRequest.newBuilder(URI.create(node.url + "/status")).timeout(STATUS_TIMEOUT).GET().build(),
+                        HttpResponse.BodyHandlers.ofString());
+                JsonNode value = mapper.readTree(response.body()).path("value");
+                updateFromStatus(node, response.statusCode(), value);
+            } catch (IOException e) {
+                node.healthy = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (wasHealthy != node.healthy) {
+                logger.info("Grid node " + node.name + " is " + (node.healthy ? "up" : "down")
+                        + (node.healthy ? " with " + node.capacity + " slots" : ""));
+            }
+        }
+        lock.lock();
+        try {
+            slotFreed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void logStatistics() {
+        StringBuilder builder = new StringBuilder("Grid nodes:");
+        for (Node node : nodes) {
+            builder.append(System.lineSeparator()).append("  ").append(node.name).append(node.healthy ? " up" : " down")
+                    .append(", ").append(node.active).append("/").append(node.capacity).append(" slots in use");
+        }
+        logger.info(builder + MetricsRegistry.summary("grid."));
+    }
+
+    // A standalone server reports ready=false while all its slots are busy, so health comes from node availability
+    private void updateFromStatus(Node node, int statusCode, JsonNode value) {
+        if (statusCode != 200) {
+            node.healthy = false;
+            return;
+        }
+        JsonNode gridNodes = value.path("nodes");
+        if (!gridNodes.isArray() || gridNodes.isEmpty()) {
+            node.healthy = value.path("ready").asBoolean(false);
+            node.capacity = defaultCapacity;
+            return;
+        }
+        int capacity = 0;
+        for (JsonNode gridNode : gridNodes) {
+            if ("UP".equals(gridNode.path("availability").asText())) {
+                capacity += gridNode.path("maxSessions").asInt(defaultCapacity);
+            }
+        }
+        node.healthy = capacity > 0;
+        node.capacity = capacity > 0 ? capacity : defaultCapacity;
+    }
+
+    private Node reserve(Set<Node> excluded) {
+        long deadline = System.nanoTime() + acquireTimeout.toNanos();
+        boolean rechecked = false;
+        lock.lock();
+        try {
+            while (true) {
+                List<Node> candidates = nodes.stream().filter(n -> n.healthy && !excluded.contains(n)).toList();
+                if (candidates.isEmpty()) {
+                    if (!excluded.isEmpty() || rechecked) {
+                        return null;
+                    }
+                    // Every node was down at the last check, look again before giving up
+                    lock.unlock();
+                    try {
+                        checkHealth();
+                    } finally {
+                        lock.lock();
+                    }
+                    rechecked = true;
+                    continue;
+                }
+                Node leastLoaded = candidates.stream()
+                        .filter(n -> n.active < n.capacity)
+                        .min(Comparator.comparingDouble((Node n) -> (double) n.active / n.capacity)
+                                .thenComparingInt(n -> n.active))
+                        .orElse(null);
+                if (leastLoaded != null) {
+                    leastLoaded.active++;
+                    return leastLoaded;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new IllegalStateException("No free grid slot within " + acquireTimeout.toSeconds()
+                            + " seconds on " + nodeNames());
+                }
+                MetricsRegistry.increment("grid.slot.waits");
+                slotFreed.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a grid slot", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void free(Node node) {
+        lock.lock();
+        try {
+            node.active--;
+            slotFreed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<String> nodeNames() {
+        return nodes.stream().map(n -> n.name).toList();
+    }
+
+    private static class Node {
+        private final String url;
+        private final String name;
+        private volatile boolean healthy;
+        private volatile int capacity;
+        // Sessions started through this scheduler and not quit yet, guarded by the scheduler lock
+        private volatile int active;
+
+        private Node(String url, int capacity) {
+            this.url = url;
+            this.name = URI.create(url).getAuthority();
+            this.capacity = capacity;
+        }
+    }
+
+    /**
+     * Remote session that gives its slot back when it is quit, whoever quits it
+     */
+    private class GridSession extends RemoteWebDriver {
+        private final Node node;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private GridSession(Node node, Capabilities capabilities) {
+            super(toUrl(node.url), capabilities);
+            this.node = node;
+        }
+
+        @Override
+        public void quit() {
+            try {
+                super.quit();
+            } finally {
+                if (released.compareAndSet(false, true)) {
+                    free(node);
+                }
+            }
+        }
+    }
+
+    private static URL toUrl(String url) {
+        try {
+            return URI.create(url).toURL();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid grid node URL: " + url, e);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.qaautomationframework.qa.utils;
+
+import com.qaautomationframework.qa.config.ConfigReader;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import org.apache.http.HttpHost;
+import org.apache.http.conn.ClientConnectionOperator;
+import org.apache.http.conn.OperatedClientConnection;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.DefaultClientConnectionOperator;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.apache.http.params.HttpConnectionParams;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HttpContext;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One keep-alive connection pool per API base URI, shared by every RestAssured request to it.
+ * <p>
+ * RestAssured 5 still drives Apache HttpClient 4 and requires an AbstractHttpClient, hence the
+ * DefaultHttpClient/PoolingClientConnectionManager pair.
+ */
+@SuppressWarnings("deprecation")
+public class HttpClientPool {
+    private static final Logger logger = LogManager.getLogger(HttpClientPool.class);
+    private static final Map<String, HttpClientPool> pools = new ConcurrentHashMap<>();
+    private static final ScheduledExecutorService evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "http-idle-connection-evictor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final String baseUri;
+    private final PoolingClientConnectionManager connectionManager;
+    private final DefaultHttpClient httpClient;
+    private final RestAssuredConfig restAssuredConfig;
+
+    private HttpClientPool(String baseUri) {
+        this.baseUri = baseUri;
+        int connectionTimeout = ConfigReader.getApiConnectionTimeout();
+        int socketTimeout = ConfigReader.getApiSocketTimeout();
+        long keepAliveMillis = ConfigReader.getApiKeepAlive();
+        long idleMillis = ConfigReader.getApiIdleEviction();
+
+        connectionManager = new CountingConnectionManager(SchemeRegistryFactory.createDefault());
+        connectionManager.setDefaultMaxPerRoute(ConfigReader.getApiMaxConnectionsPerRoute());
+        connectionManager.setMaxTotal(ConfigReader.getApiMaxConnectionsTotal());
+
+        httpClient = new DefaultHttpClient(connectionManager);
+        HttpConnectionParams.setConnectionTimeout(httpClient.getParams(), connectionTimeout);
+        HttpConnectionParams.setSoTimeout(httpClient.getParams(), socketTimeout);
+        httpClient.setKeepAliveStrategy((response, context) -> {
+            long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return serverKeepAlive > 0 ? Math.min(serverKeepAlive, keepAliveMillis) : keepAliveMillis;
+        });
+        httpClient.addRequestInterceptor((request, context) -> MetricsRegistry.increment("http.requests"));
+
+        restAssuredConfig = RestAssuredConfig.config()
+                .httpClient(HttpClientConfig.httpClientConfig()
+                        .httpClientFactory(() -> httpClient)
+                        .reuseHttpClientInstance()
+                        .setParam("http.connection.timeout", connectionTimeout)
+                        .setParam("http.socket.timeout", socketTimeout));
+
+        evictor.scheduleWithFixedDelay(() -> {
+            connectionManager.closeExpiredConnections();
+            connectionManager.closeIdleConnections(idleMillis, TimeUnit.MILLISECONDS);
+        }, idleMillis, idleMillis, TimeUnit.MILLISECONDS);
+
+        logger.info("Created pooled HTTP client for " + baseUri + " (max per route: "
+                + ConfigReader.getApiMaxConnectionsPerRoute() + ", keep-alive: " + keepAliveMillis + " ms)");
+    }
+
+    public static HttpClientPool forBaseUri(String baseUri) {
+        return pools.computeIfAbsent(baseUri, HttpClientPool::new);
+    }
+
+    /**
+     * RestAssured configuration bound to this pool; reuse the same instance for every request
+     */
+    public RestAssuredConfig getRestAssuredConfig() {
+        return restAssuredConfig;
+    }
+
+    /**
+     * Share of requests that did not need a new TCP connection, between 0 and 1
+     */
+    public static double getConnectionReuseRate() {
+        long requests = MetricsRegistry.getCount("http.requests");
+        if (requests == 0) {
+            return 0;
+        }
+        return 1.0 - (double) MetricsRegistry.getCount("http.connections.opened") / requests;
+    }
+
+    public static void logStatistics() {
+        pools.values().forEach(pool -> logger.info("HTTP pool " + pool.baseUri + ": "
+                + pool.connectionManager.getTotalStats()));
+        logger.info("HTTP connection reuse rate: " + String.format("%.1f%%", getConnectionReuseRate() * 100)
+                + MetricsRegistry.summary("http."));
+    }
+
+    /**
+     * Counts opened connections and TLS handshakes so connection reuse can be verified under load
+     */
+    private static class CountingConnectionManager extends PoolingClientConnectionManager {
+
+        CountingConnectionManager(SchemeRegistry schemeRegistry) {
+            super(schemeRegistry);
+        }
+
+        @Override
+        protected ClientConnectionOperator createConnectionOperator(SchemeRegistry schemeRegistry) {
+            return new DefaultClientConnectionOperator(schemeRegistry) {
+                @Override
+                public void openConnection(OperatedClientConnection connection, HttpHost target, InetAddress local,
+                        HttpContext context, HttpParams params) throws IOException {
+                    long start = System.nanoTime();
+                    super.openConnection(connection, target, local, context, params);
+                    MetricsRegistry.recordSince("http.connect", start);
+                    MetricsRegistry.increment("http.connections.opened");
+                    if ("https".equalsIgnoreCase(target.getSchemeName())) {
+                        MetricsRegistry.increment("http.tls.handshakes");
+                    }
+                }
+            };
+        }
+    }
+}
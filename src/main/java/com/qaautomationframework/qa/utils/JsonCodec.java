@@ -0,0 +1,108 @@
+package com.qaautomationframework.qa.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.qaautomationframework.qa.config.ConfigReader;
+import io.restassured.config.ObjectMapperConfig;
+import io.restassured.mapper.ObjectMapperDeserializationContext;
+import io.restassured.mapper.ObjectMapperSerializationContext;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The framework's one Jackson ObjectMapper, with an ObjectReader and ObjectWriter cached per POJO type.
+ * RestAssured's default Jackson mapper builds a new ObjectMapper (and scans for modules) on every request
+ * body and every Response.as() call; registering {@link #objectMapperConfig()} on the request specification
+ * routes both through this mapper instead. With api.json.blackbird.enabled=true and the blackbird Maven
+ * profile, Jackson's Blackbird module replaces reflective accessors with generated lambdas.
+ */
+public class JsonCodec {
+    private static final Logger logger = LogManager.getLogger(JsonCodec.class);
+    private static final String BLACKBIRD_MODULE = "com.fasterxml.jackson.module.blackbird.BlackbirdModule";
+
+    private static final Map<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    /**
+     * Built on first use, so loading JsonCodec does not read the configuration
+     */
+    private static class Shared {
+        private static final ObjectMapper MAPPER = createMapper(ConfigReader.isApiJsonBlackbird());
+    }
+
+    /**
+     * New ObjectMapper with the framework's settings; with blackbird=true the Blackbird module is registered
+     * when it is on the classpath
+     */
+    public static ObjectMapper createMapper(boolean blackbird) {
+        ObjectMapper mapper = new ObjectMapper();
+        if (blackbird) {
+            try {
+                mapper.registerModule((Module) Class.forName(BLACKBIRD_MODULE).getDeclaredConstructor().newInstance());
+                logger.info("Jackson Blackbird module registered");
+            } catch (ReflectiveOperationException | LinkageError e) {
+                logger.warn("api.json.blackbird.enabled is set but " + BLACKBIRD_MODULE
+                        + " is not on the classpath (build with -Pblackbird); using reflective accessors");
+            }
+        }
+        return mapper;
+    }
+
+    public static ObjectMapper mapper() {
+        return Shared.MAPPER;
+    }
+
+    public static ObjectReader reader(Type type) {
+        return readers.computeIfAbsent(type, key -> mapper().readerFor(mapper().constructType(key)));
+    }
+
+    public static ObjectWriter writer(Class<?> type) {
+        return writers.computeIfAbsent(type, mapper()::writerFor);
+    }
+
+    /**
+     * UTF-8 JSON of the value, written straight to a byte array
+     */
+    public static byte[] toBytes(Object value) {
+        long start = System.nanoTime();
+        try {
+            return writer(value.getClass()).writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Could not serialize " + value.getClass().getSimpleName(), e);
+        } finally {
+            MetricsRegistry.recordSince("api.body.serialize." + value.getClass().getSimpleName(), start);
+        }
+    }
+
+    /**
+     * RestAssured object mapping through the shared mapper, for RestAssuredConfig.objectMapperConfig()
+     */
+    public static ObjectMapperConfig objectMapperConfig() {
+        return ObjectMapperConfig.objectMapperConfig().defaultObjectMapper(new RestAssuredMapper());
+    }
+
+    private static class RestAssuredMapper implements io.restassured.mapper.ObjectMapper {
+        @Override
+        public Object serialize(ObjectMapperSerializationContext context) {
+            return toBytes(context.getObjectToSerialize());
+        }
+
+        @Override
+        public Object deserialize(ObjectMapperDeserializationContext context) {
+            try {
+                return reader(context.getType()).readValue(context.getDataToDeserialize().asByteArray());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Response body is not a valid " + context.getType().getTypeName(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.qaautomationframework.qa.utils;
+
+import com.qaautomationframework.qa.config.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Cookie;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Signed-in browser state (cookies and local storage) captured after one full login, kept for
+ * login.cache.ttl.minutes and restored into later sessions through
+ * {@link DriverManager#restoreSessionState(String, SessionState)}. The cache is JVM-wide: every scenario
+ * thread of the run shares it, keyed by site and account, and each key has one lock for its full login.
+ */
+public class LoginStateCache {
+    private static final Logger logger = LogManager.getLogger(LoginStateCache.class);
+    private static final ConcurrentMap<String, SessionState> states = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, Object> loginLocks = new ConcurrentHashMap<>();
+
+    public record SessionState(Set<Cookie> cookies, Map<String, String> localStorage, Instant capturedAt) {
+
+        public boolean isExpired(Duration ttl) {
+            return capturedAt.plus(ttl).isBefore(Instant.now());
+        }
+    }
+
+    /**
+     * Cached state for the key, or null when there is none or it is older than login.cache.ttl.minutes
+     */
+    public static SessionState get(String key) {
+        SessionState state = states.get(key);
+        if (state == null) {
+            MetricsRegistry.increment("login.cache.miss");
+            return null;
+        }
+        if (state.isExpired(Duration.ofMinutes(ConfigReader.getLoginCacheTtlMinutes()))) {
+            logger.info("Cached login state expired for " + key);
+            states.remove(key, state);
+            MetricsRegistry.increment("login.cache.expired");
+            return null;
+        }
+        MetricsRegistry.increment("login.cache.hit");
+        return state;
+    }
+
+    public static void put(String key, SessionState state) {
+        states.put(key, state);
+        logger.info("Cached login state for " + key + " (" + state.cookies().size() + " cookies, "
+                + state.localStorage().size() + " local storage entries)");
+    }
+
+    /**
+     * Drop a state that no longer signs the user in; a newer state stored meanwhile is kept
+     */
+    public static void invalidate(String key, SessionState state) {
+        if (states.remove(key, state)) {
+            MetricsRegistry.increment("login.cache.invalidated");
+            logger.info("Cached login state for " + key + " is no longer valid");
+        }
+    }
+
+    /**
+     * Held while a full login runs, so parallel scenarios in this JVM wait for its state instead of all
+     * signing in at once
+     */
+    public static Object lockFor(String key) {
+        return loginLocks.computeIfAbsent(key, k -> new Object());
+    }
+
+    public static void clear() {
+        states.clear();
+    }
+
+    public static void logStatistics() {
+        logger.info("Login state cache:" + MetricsRegistry.summary("login."));
+    }
+}
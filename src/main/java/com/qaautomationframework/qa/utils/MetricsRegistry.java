@@ -0,0 +1,100 @@
+package com.qaautomationframework.qa.utils;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide counters and latency histograms shared by the framework utilities
+ */
+public class MetricsRegistry {
+    private static final ConcurrentMap<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, Histogram> timers = new ConcurrentHashMap<>();
+
+    public static void increment(String name) {
+        increment(name, 1);
+    }
+
+    public static void increment(String name, long delta) {
+        counters.computeIfAbsent(name, key -> new LongAdder()).add(delta);
+    }
+
+    public static long getCount(String name) {
+        LongAdder counter = counters.get(name);
+        return counter != null ? counter.sum() : 0;
+    }
+
+    /**
+     * Record a duration measured with System.nanoTime(); histograms are kept in microseconds
+     */
+    public static void recordNanos(String name, long nanos) {
+        timers.computeIfAbsent(name, key -> new ConcurrentHistogram(3))
+                .recordValue(Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos)));
+    }
+
+    public static void recordSince(String name, long startNanos) {
+        recordNanos(name, System.nanoTime() - startNanos);
+    }
+
+    public static Histogram getTimer(String name) {
+        return timers.get(name);
+    }
+
+    public static Map<String, Long> getCounters(String prefix) {
+        Map<String, Long> result = new TreeMap<>();
+        counters.forEach((name, counter) -> {
+            if (name.startsWith(prefix)) {
+                result.put(name, counter.sum());
+            }
+        });
+        return result;
+    }
+
+    public static Map<String, Histogram> getTimers(String prefix) {
+        Map<String, Histogram> result = new TreeMap<>();
+        timers.forEach((name, histogram) -> {
+            if (name.startsWith(prefix)) {
+                result.put(name, histogram.copy());
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Summarize a histogram (microsecond values) as count and millisecond percentiles
+     */
+    public static Map<String, Object> describe(Histogram histogram) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("count", histogram.getTotalCount());
+        stats.put("p50Ms", histogram.getValueAtPercentile(50) / 1000.0);
+        stats.put("p95Ms", histogram.getValueAtPercentile(95) / 1000.0);
+        stats.put("p99Ms", histogram.getValueAtPercentile(99) / 1000.0);
+        stats.put("maxMs", histogram.getMaxValue() / 1000.0);
+        stats.put("meanMs", histogram.getTotalCount() > 0 ? histogram.getMean() / 1000.0 : 0.0);
+        return stats;
+    }
+
+    /**
+     * Human readable, one line per metric, for every counter and timer whose name starts with prefix
+     */
+    public static String summary(String prefix) {
+        StringBuilder builder = new StringBuilder();
+        getCounters(prefix).forEach((name, value) ->
+                builder.append(System.lineSeparator()).append("  ").append(name).append(" = ").append(value));
+        getTimers(prefix).forEach((name, histogram) ->
+                builder.append(System.lineSeparator()).append("  ").append(name).append(" ").append(describe(histogram)));
+        return builder.toString();
+    }
+
+    public static void reset() {
+        counters.clear();
+        timers.clear();
+    }
+}
@@ -0,0 +1,127 @@
+package com.qaautomationframework.qa.utils;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Page load time and transferred bytes per page object, taken from the browser's Navigation and Resource
+ * Timing entries. Each run is stored in test-output/page-load-report.json under "blocked" or "unblocked"
+ * depending on resource.blocking.enabled, so one run of each shows the savings per page.
+ * <p>
+ * Cross-origin resources without a Timing-Allow-Origin header report 0 bytes, so byte counts are a lower bound.
+ */
+public class PageLoadMetrics {
+    private static final Logger logger = LogManager.getLogger(PageLoadMetrics.class);
+    private static final File REPORT_FILE = new File("test-output", "page-load-report.json");
+
+    // Only the first measurement of a document counts, later waits on the same page return null
+    private static final String NAVIGATION_TIMING_SCRIPT =
+            "if (window.__qaLoadMeasured) { return null; }"
+                    + "var nav = performance.getEntriesByType('navigation')[0];"
+                    + "if (!nav || nav.loadEventEnd === 0) { return null; }"
+                    + "window.__qaLoadMeasured = true;"
+                    + "var bytes = nav.transferSize || 0;"
+                    + "performance.getEntriesByType('resource').forEach(function (r) { bytes += r.transferSize || 0; });"
+                    + "return [nav.loadEventEnd - nav.startTime, bytes];";
+
+    /**
+     * Record the load of the document currently open in driver for the given page object class
+     */
+    public static void record(WebDriver driver, Class<?> page) {
+        try {
+            Object result = ((JavascriptExecutor) driver).executeScript(NAVIGATION_TIMING_SCRIPT);
+            if (!(result instanceof List<?> timing) || timing.size() != 2) {
+                return;
+            }
+            double loadMillis = ((Number) timing.get(0)).doubleValue();
+            long bytes = ((Number) timing.get(1)).longValue();
+            String name = page.getSimpleName();
+            MetricsRegistry.recordNanos("page.load." + name, (long) (loadMillis * TimeUnit.MILLISECONDS.toNanos(1)));
+            MetricsRegistry.increment("page.bytes." + name, bytes);
+        } catch (WebDriverException | ClassCastException e) {
+            logger.debug("Could not read navigation timing: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Merge this run into the report and log load time and bytes saved per page once both modes exist
+     */
+    public static synchronized void writeReport() {
+        Map<String, Histogram> timers = MetricsRegistry.getTimers("page.load.");
+        if (timers.isEmpty()) {
+            return;
+        }
+        Map<String, Object> current = new TreeMap<>();
+        timers.forEach((timer, histogram) -> {
+            String page = timer.substring("page.load.".length());
+            Map<String, Object> stats = MetricsRegistry.describe(histogram);
+            stats.put("meanBytes", MetricsRegistry.getCount("page.bytes." + page) / histogram.getTotalCount());
+            current.put(page, stats);
+        });
+
+        ObjectMapper mapper = new ObjectMapper();
+        Map<String, Object> report = new LinkedHashMap<>();
+        if (REPORT_FILE.exists()) {
+            try {
+                report = mapper.readValue(REPORT_FILE, new TypeReference<LinkedHashMap<String, Object>>() {
+                });
+            } catch (IOException e) {
+                logger.warn("Ignoring unreadable page load report: " + e.getMessage());
+            }
+        }
+        report.put(ResourceBlocker.isEnabled() ? "blocked" : "unblocked", current);
+        report.put("savings", savings(report));
+
+        try {
+            REPORT_FILE.getParentFile().mkdirs();
+            mapper.writerWithDefaultPrettyPrinter().writeValue(REPORT_FILE, report);
+        } catch (IOException e) {
+            logger.warn("Could not write page load report: " + e.getMessage());
+        }
+        logger.info("Page loads per page object (resource blocking "
+                + (ResourceBlocker.isEnabled() ? "on" : "off") + "):" + MetricsRegistry.summary("page.")
+                + System.lineSeparator() + "  savings = " + report.get("savings"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> savings(Map<String, Object> report) {
+        Map<String, Object> savings = new TreeMap<>();
+        Object unblocked = report.get("unblocked");
+        Object blocked = report.get("blocked");
+        if (!(unblocked instanceof Map) || !(blocked instanceof Map)) {
+            return savings;
+        }
+        ((Map<String, Object>) blocked).forEach((page, after) -> {
+            Object before = ((Map<String, Object>) unblocked).get(page);
+            if (before instanceof Map && after instanceof Map) {
+                Map<String, Object> beforeStats = (Map<String, Object>) before;
+                Map<String, Object> afterStats = (Map<String, Object>) after;
+                Map<String, Object> saved = new LinkedHashMap<>();
+                saved.put("meanLoadMsSaved", number(beforeStats, "meanMs") - number(afterStats, "meanMs"));
+                saved.put("p95LoadMsSaved", number(beforeStats, "p95Ms") - number(afterStats, "p95Ms"));
+                saved.put("meanBytesSaved", number(beforeStats, "meanBytes") - number(afterStats, "meanBytes"));
+                savings.put(page, saved);
+            }
+        });
+        return savings;
+    }
+
+    private static double number(Map<String, Object> stats, String key) {
+        Object value = stats.get(key);
+        return value instanceof Number ? ((Number) value).doubleValue() : 0;
+    }
+}
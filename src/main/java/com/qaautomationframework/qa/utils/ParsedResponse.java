@@ -0,0 +1,222 @@
+package com.qaautomationframework.qa.utils;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.qaautomationframework.qa.config.ConfigReader;
+import io.restassured.response.Response;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Response body parsed at most once, for the assertions of every step that checks the same response.
+ * Bodies below api.assert.streaming.threshold.bytes are read into one JsonNode tree and POJOs are bound from
+ * that tree. Larger bodies are bound straight from the bytes, and {@link #field(String)} /
+ * {@link #hasField(String)} read them with a streaming JsonParser that skips everything outside the
+ * requested paths and stops once they are found. Parses and parsed bytes are counted per calling step.
+ */
+public class ParsedResponse {
+    private static final Logger logger = LogManager.getLogger(ParsedResponse.class);
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private final Response response;
+    private final byte[] body;
+    private final boolean streaming;
+    private final Map<Class<?>, Object> bound = new HashMap<>();
+    // Pointers already streamed for, the ones among them that exist and are not null, and the scalar values
+    private final Set<String> streamedPaths = new HashSet<>();
+    private final Set<String> presentPaths = new HashSet<>();
+    private final Map<String, String> streamedValues = new HashMap<>();
+    private JsonNode tree;
+
+    private ParsedResponse(Response response) {
+        this.response = response;
+        this.body = response.asByteArray();
+        this.streaming = body.length >= ConfigReader.getApiAssertStreamingThreshold();
+    }
+
+    public static ParsedResponse of(Response response) {
+        return new ParsedResponse(response);
+    }
+
+    public Response response() {
+        return response;
+    }
+
+    public int size() {
+        return body.length;
+    }
+
+    /**
+     * The body bound to type, bound only on the first call for that type
+     */
+    public <T> T as(Class<T> type) {
+        Object value = bound.get(type);
+        if (value == null) {
+            long start = System.nanoTime();
+            try {
+                ObjectReader reader = JsonCodec.reader(type);
+                value = streaming ? reader.readValue(body) : reader.readValue(tree());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Response body is not a valid " + type.getSimpleName(), e);
+            }
+            MetricsRegistry.recordSince("api.body.bind." + type.getSimpleName(), start);
+            if (streaming) {
+                countParse();
+            }
+            bound.put(type, value);
+        } else {
+            MetricsRegistry.increment("api.body.cache.hit");
+        }
+        return type.cast(value);
+    }
+
+    /**
+     * The whole body as a tree, parsed on the first call
+     */
+    public JsonNode tree() {
+        if (tree == null) {
+            long start = System.nanoTime();
+            try {
+                tree = JsonCodec.mapper().readTree(body);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Response body is not valid JSON", e);
+            }
+            MetricsRegistry.recordSince("api.body.parse", start);
+            countParse();
+        } else {
+            MetricsRegistry.increment("api.body.cache.hit");
+        }
+        return tree;
+    }
+
+    /**
+     * Text of the scalar at a JSON pointer such as "/data/first_name", or null when it is missing, null or
+     * not a scalar
+     */
+    public String field(String pointer) {
+        if (!streaming) {
+            JsonNode node = tree().at(pointer);
+            return node.isValueNode() && !node.isNull() ? node.asText() : null;
+        }
+        stream(pointer);
+        return streamedValues.get(pointer);
+    }
+
+    /**
+     * Whether the JSON pointer exists and is not null
+     */
+    public boolean hasField(String pointer) {
+        if (!streaming) {
+            JsonNode node = tree().at(pointer);
+            return !node.isMissingNode() && !node.isNull();
+        }
+        stream(pointer);
+        return presentPaths.contains(pointer);
+    }
+
+    /**
+     * Read several pointers in one streaming pass, e.g. before checking each of them with field()
+     */
+    public ParsedResponse prefetch(String... pointers) {
+        if (streaming) {
+            stream(pointers);
+        }
+        return this;
+    }
+
+    public static void logStatistics() {
+        logger.info("Response body parsing:" + MetricsRegistry.summary("api.body."));
+    }
+
+    private void stream(String... pointers) {
+        Set<String> remaining = new HashSet<>(Arrays.asList(pointers));
+        remaining.removeAll(streamedPaths);
+        if (remaining.isEmpty()) {
+            MetricsRegistry.increment("api.body.cache.hit");
+            return;
+        }
+        List<String> requested = new ArrayList<>(remaining);
+        long start = System.nanoTime();
+        try (JsonParser parser = JsonCodec.mapper().getFactory().createParser(body)) {
+            JsonToken first = parser.nextToken();
+            if (first != null) {
+                scan(parser, first, "", remaining);
+            }
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Response body is not valid JSON", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        // Pointers still remaining are absent; remember them too so they are not streamed for again
+        streamedPaths.addAll(requested);
+        MetricsRegistry.recordSince("api.body.stream", start);
+        String step = callingStep();
+        MetricsRegistry.increment("api.body.streams");
+        MetricsRegistry.increment("api.body.step." + step + ".streams");
+        MetricsRegistry.increment("api.body.step." + step + ".bytes", body.length);
+    }
+
+    private void scan(JsonParser parser, JsonToken token, String path, Set<String> remaining) throws IOException {
+        if (remaining.remove(path) && token != JsonToken.VALUE_NULL) {
+            presentPaths.add(path);
+            if (token.isScalarValue()) {
+                streamedValues.put(path, parser.getText());
+            }
+        }
+        if (token != JsonToken.START_OBJECT && token != JsonToken.START_ARRAY) {
+            return;
+        }
+        if (remaining.stream().noneMatch(pointer -> pointer.startsWith(path + "/"))) {
+            parser.skipChildren();
+            return;
+        }
+        if (token == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName().replace("~", "~0").replace("/", "~1");
+                scan(parser, parser.nextToken(), path + "/" + name, remaining);
+                if (remaining.isEmpty()) {
+                    return;
+                }
+            }
+        } else {
+            int index = 0;
+            for (JsonToken element = parser.nextToken(); element != JsonToken.END_ARRAY; element = parser.nextToken()) {
+                scan(parser, element, path + "/" + index++, remaining);
+                if (remaining.isEmpty()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void countParse() {
+        String step = callingStep();
+        MetricsRegistry.increment("api.body.parses");
+        MetricsRegistry.increment("api.body.parsed.bytes", body.length);
+        MetricsRegistry.increment("api.body.step." + step + ".parses");
+        MetricsRegistry.increment("api.body.step." + step + ".bytes", body.length);
+    }
+
+    // Step definition (or other caller) that triggered the parse, as Class.method
+    private static String callingStep() {
+        return STACK_WALKER.walk(frames -> frames
+                .filter(frame -> !frame.getClassName().equals(ParsedResponse.class.getName()))
+                .findFirst()
+                .map(frame -> frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1) + "."
+                        + frame.getMethodName())
+                .orElse("unknown"));
+    }
+}
@@ -0,0 +1,103 @@
+package com.qaautomationframework.qa.utils;
+
+import java.math.BigDecimal;
+
+/**
+ * Single-pass, allocation-free parser for displayed prices such as "EGP 1,234.50", "1.234,50 €",
+ * "EGP 1,234\n50" (Amazon's split-fraction markup) or Arabic-Indic "١٬٢٣٤٫٥٠ ج.م".
+ * <p>
+ * Currency codes and symbols before the amount are skipped and the amount ends at the first other
+ * character after it. The last '.', ',', Arabic decimal separator or whitespace followed by one or two
+ * digits is the decimal separator; every other separator groups thousands.
+ */
+public final class PriceParser {
+    public static final int MINOR_UNIT_DIGITS = 2;
+
+    // Any 18 digits fit in a long; scaling whole amounts up to minor units is checked separately
+    private static final int MAX_DIGITS = 18;
+    private static final char ARABIC_DECIMAL_SEPARATOR = '٫';
+    private static final char ARABIC_THOUSANDS_SEPARATOR = '٬';
+
+    private PriceParser() {
+    }
+
+    /**
+     * @return the amount in minor units (piastres, cents), e.g. 123450 for "EGP 1,234.50"
+     * @throws NumberFormatException when the text contains no digits, or more than fit in a long as minor units
+     */
+    public static long parseMinorUnits(CharSequence text) {
+        long value = 0;
+        int digits = 0;
+        boolean negative = false;
+        // Separator in front of the digit group being read, and the same pair for the previous group
+        char separator = 0;
+        int groupDigits = 0;
+        char previousSeparator = 0;
+        int previousGroupDigits = 0;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            int digit = Character.digit(c, 10);
+
+            if (digit >= 0) {
+                if (++digits > MAX_DIGITS) {
+                    throw new NumberFormatException("Price has too many digits: " + text);
+                }
+                value = value * 10 + digit;
+                groupDigits++;
+            } else if (digits == 0) {
+                if (c == '-' || c == '\u2212') {
+                    negative = true;
+                }
+            } else if (isSeparator(c)) {
+                if (groupDigits > 0) {
+                    previousSeparator = separator;
+                    previousGroupDigits = groupDigits;
+                    separator = c;
+                    groupDigits = 0;
+                } else if (isBlank(separator) || !isBlank(c)) {
+                    // "1,234.\n50": punctuation wins over whitespace next to it
+                    separator = c;
+                }
+            } else {
+                break;
+            }
+        }
+
+        if (digits == 0) {
+            throw new NumberFormatException("No digits in price: '" + text + "'");
+        }
+        if (groupDigits == 0) {
+            // Trailing separator as in "12,999." or "1,234.50 EGP"
+            separator = previousSeparator;
+            groupDigits = previousGroupDigits;
+        }
+
+        int fractionDigits = 0;
+        if (separator != 0 && separator != ARABIC_THOUSANDS_SEPARATOR && separator != '\''
+                && groupDigits <= MINOR_UNIT_DIGITS) {
+            fractionDigits = groupDigits;
+        }
+        try {
+            for (int i = fractionDigits; i < MINOR_UNIT_DIGITS; i++) {
+                value = Math.multiplyExact(value, 10);
+            }
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("Price does not fit in minor units: " + text);
+        }
+        return negative ? -value : value;
+    }
+
+    public static BigDecimal parse(CharSequence text) {
+        return BigDecimal.valueOf(parseMinorUnits(text), MINOR_UNIT_DIGITS);
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == '.' || c == ',' || c == '\'' || c == ARABIC_DECIMAL_SEPARATOR || c == ARABIC_THOUSANDS_SEPARATOR
+                || isBlank(c);
+    }
+
+    private static boolean isBlank(char c) {
+        return Character.isWhitespace(c) || Character.isSpaceChar(c);
+    }
+}
@@ -0,0 +1,96 @@
+package com.qaautomationframework.qa.utils;
+
+import com.qaautomationframework.qa.config.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.openqa.selenium.chromium.ChromiumOptions;
+import org.openqa.selenium.firefox.FirefoxOptions;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the browser from downloading resources the tests never assert on, configured by
+ * resource.blocking.types (image, font, media) and resource.blocking.patterns (URL wildcards such as ad
+ * and tracker hosts). Chrome and Edge block through the DevTools Network.setBlockedURLs command plus a
+ * content setting for images; Firefox only supports the type based preferences.
+ */
+public class ResourceBlocker {
+    private static final Logger logger = LogManager.getLogger(ResourceBlocker.class);
+
+    private static final Map<String, List<String>> TYPE_PATTERNS = Map.of(
+            "image", List.of("*.png*", "*.jpg*", "*.jpeg*", "*.gif*", "*.webp*", "*.avif*", "*.svg*", "*.ico*"),
+            "font", List.of("*.woff*", "*.woff2*", "*.ttf*", "*.otf*", "*.eot*"),
+            "media", List.of("*.mp4*", "*.webm*", "*.m3u8*", "*.mp3*"));
+
+    public static boolean isEnabled() {
+        return ConfigReader.isResourceBlockingEnabled();
+    }
+
+    /**
+     * Launch time settings for Chrome/Edge
+     */
+    public static void configure(ChromiumOptions<?> options) {
+        if (!isEnabled()) {
+            return;
+        }
+        Map<String, Object> prefs = new HashMap<>();
+        if (ConfigReader.getResourceBlockingTypes().contains("image")) {
+            prefs.put("profile.managed_default_content_settings.images", 2);
+        }
+        if (!prefs.isEmpty()) {
+            options.setExperimentalOption("prefs", prefs);
+        }
+    }
+
+    /**
+     * Launch time settings for Firefox, which has no equivalent of the URL pattern blocking
+     */
+    public static void configure(FirefoxOptions options) {
+        if (!isEnabled()) {
+            return;
+        }
+        List<String> types = ConfigReader.getResourceBlockingTypes();
+        if (types.contains("image")) {
+            options.addPreference("permissions.default.image", 2);
+        }
+        if (types.contains("font")) {
+            options.addPreference("browser.display.use_document_fonts", 0);
+        }
+        if (types.contains("media")) {
+            options.addPreference("media.autoplay.default", 5);
+        }
+        if (!ConfigReader.getResourceBlockingPatterns().isEmpty()) {
+            logger.warn("resource.blocking.patterns is only supported on Chrome and Edge");
+        }
+    }
+
+    /**
+     * Install the URL blocklist on a started Chrome/Edge session; it stays active for every later navigation
+     */
+    public static void apply(WebDriver driver) {
+        if (!isEnabled() || !(driver instanceof ChromiumDriver)) {
+            return;
+        }
+        List<String> patterns = new ArrayList<>(ConfigReader.getResourceBlockingPatterns());
+        for (String type : ConfigReader.getResourceBlockingTypes()) {
+            patterns.addAll(TYPE_PATTERNS.getOrDefault(type.toLowerCase(), List.of()));
+        }
+        if (patterns.isEmpty()) {
+            return;
+        }
+        try {
+            ChromiumDriver chromium = (ChromiumDriver) driver;
+            chromium.executeCdpCommand("Network.enable", Map.of());
+            chromium.executeCdpCommand("Network.setBlockedURLs", Map.of("urls", patterns));
+            logger.info("Blocking " + patterns.size() + " resource URL patterns");
+        } catch (WebDriverException e) {
+            logger.warn("Could not install resource blocking: " + e.getMessage());
+        }
+    }
+}
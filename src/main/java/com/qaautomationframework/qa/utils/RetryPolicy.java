@@ -0,0 +1,108 @@
+package com.qaautomationframework.qa.utils;
+
+import com.qaautomationframework.qa.config.ConfigReader;
+import io.restassured.response.Response;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * When ApiUtils sends a request again, and after how long. Only api.retry.methods (the idempotent verbs by
+ * default) are retried, after a connection/timeout failure or a status in api.retry.statuses, for up to
+ * api.retry.max.attempts attempts. The wait doubles from api.retry.backoff.initial.ms up to
+ * api.retry.backoff.max.ms, and a random half of it is jitter so requests that failed together do not all
+ * retry together; a Retry-After header in seconds is honoured up to the same maximum. All requests of a run
+ * share api.retry.budget retries, so a target that stays down does not multiply the run time.
+ */
+public class RetryPolicy {
+    private static final Logger logger = LogManager.getLogger(RetryPolicy.class);
+    private static volatile RetryPolicy instance;
+
+    private final int maxAttempts;
+    private final Set<String> methods;
+    private final Set<Integer> statuses;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final AtomicInteger budget;
+
+    public RetryPolicy(int maxAttempts, Collection<String> methods, Collection<Integer> statuses,
+            long initialBackoffMillis, long maxBackoffMillis, int budget) {
+        this.maxAttempts = maxAttempts;
+        this.methods = Set.copyOf(methods);
+        this.statuses = Set.copyOf(statuses);
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.budget = new AtomicInteger(budget);
+    }
+
+    /**
+     * Policy from the api.retry.* settings, created on first use; its budget lasts for the whole run
+     */
+    public static RetryPolicy getInstance() {
+        if (instance == null) {
+            synchronized (RetryPolicy.class) {
+                if (instance == null) {
+                    instance = new RetryPolicy(ConfigReader.getApiRetryMaxAttempts(), ConfigReader.getApiRetryMethods(),
+                            ConfigReader.getApiRetryStatuses(), ConfigReader.getApiRetryBackoffInitial(),
+                            ConfigReader.getApiRetryBackoffMax(), ConfigReader.getApiRetryBudget());
+                }
+            }
+        }
+        return instance;
+    }
+
+    public boolean isRetryableStatus(int statusCode) {
+        return statuses.contains(statusCode);
+    }
+
+    /**
+     * Whether a failed attempt (counted from 1) may be followed by another one. A yes takes one retry out of
+     * the run's budget.
+     *
+     * @param method HTTP method, e.g. GET
+     * @param label  method and endpoint, for the per-endpoint retry count
+     */
+    public boolean tryRetry(String method, int attempt, String label) {
+        if (!methods.contains(method) || attempt >= maxAttempts) {
+            return false;
+        }
+        if (budget.getAndUpdate(remaining -> remaining > 0 ? remaining - 1 : 0) == 0) {
+            if (MetricsRegistry.getCount("api.retry.budget.exhausted") == 0) {
+                logger.warn("API retry budget used up; further failures are not retried in this run");
+            }
+            MetricsRegistry.increment("api.retry.budget.exhausted");
+            return false;
+        }
+        MetricsRegistry.increment("api.retry.retries");
+        MetricsRegistry.increment("api.retry.retries." + label);
+        return true;
+    }
+
+    /**
+     * Wait before the attempt after the given one
+     *
+     * @param response the failed response, or null after a connection/timeout failure
+     */
+    public long backoffMillis(int attempt, Response response) {
+        long ceiling = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt - 1, 20));
+        long delay = ceiling / 2 + ThreadLocalRandom.current().nextLong(ceiling / 2 + 1);
+        String retryAfter = response != null ? response.getHeader("Retry-After") : null;
+        if (retryAfter != null && retryAfter.trim().matches("\\d{1,6}")) {
+            delay = Math.max(delay, Math.min(maxBackoffMillis, Long.parseLong(retryAfter.trim()) * 1000));
+        }
+        return delay;
+    }
+
+    public int getRemainingBudget() {
+        return budget.get();
+    }
+
+    public static void logStatistics() {
+        logger.info("API retries and circuit breakers:" + MetricsRegistry.summary("api.retry.")
+                + MetricsRegistry.summary("api.circuit."));
+    }
+}
@@ -0,0 +1,112 @@
+package com.qaautomationframework.qa.utils;
+
+import com.qaautomationframework.qa.config.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Function;
+
+/**
+ * Single polling engine shared by all explicit waits of a driver. One instance is cached per driver, so
+ * waits allocate no WebDriverWait, and every wait is timed per page object and kind of wait in MetricsRegistry.
+ * Locators are left out of the metric names, which would otherwise grow with every locator ever waited for.
+ */
+public class WaitEngine {
+    private static final Logger logger = LogManager.getLogger(WaitEngine.class);
+    private static final Map<WebDriver, WaitEngine> engines = Collections.synchronizedMap(new WeakHashMap<>());
+
+    // Weak so the cache entry does not keep a quit driver reachable
+    private final WeakReference<WebDriver> driver;
+    private final Duration timeout;
+    private final long pollIntervalMillis;
+    private final double backoff;
+    private final long maxPollIntervalMillis;
+
+    private WaitEngine(WebDriver driver) {
+        this.driver = new WeakReference<>(driver);
+        this.timeout = Duration.ofSeconds(ConfigReader.getExplicitWait());
+        this.pollIntervalMillis = ConfigReader.getWaitPollingInterval();
+        this.backoff = ConfigReader.getWaitPollingBackoff();
+        this.maxPollIntervalMillis = ConfigReader.getWaitPollingMaxInterval();
+    }
+
+    public static WaitEngine forDriver(WebDriver driver) {
+        return engines.computeIfAbsent(driver, WaitEngine::new);
+    }
+
+    /**
+     * Wait up to explicit.wait for the condition to return a non-null, non-false value
+     */
+    public <T> T until(String label, Function<WebDriver, T> condition) {
+        return until(label, null, condition, timeout);
+    }
+
+    public <T> T until(String label, Function<WebDriver, T> condition, Duration timeout) {
+        return until(label, null, condition, timeout);
+    }
+
+    public <T> T until(String label, By locator, Function<WebDriver, T> condition) {
+        return until(label, locator, condition, timeout);
+    }
+
+    /**
+     * @param label   kind of wait, e.g. "visible"; part of the metric name, so keep it to a fixed set of values
+     * @param locator element waited for, only logged; null when the wait is not about one element
+     */
+    public <T> T until(String label, By locator, Function<WebDriver, T> condition, Duration timeout) {
+        String metric = "wait." + WebDriverMetrics.callingPage() + "/" + label;
+        String description = locator != null ? label + " " + locator : label;
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        long interval = pollIntervalMillis;
+        RuntimeException lastException = null;
+        WebDriver webDriver = driver.get();
+        if (webDriver == null) {
+            throw new IllegalStateException("Driver for this wait engine is no longer available");
+        }
+
+        while (true) {
+            try {
+                T value = condition.apply(webDriver);
+                if (value != null && !Boolean.FALSE.equals(value)) {
+                    MetricsRegistry.recordSince(metric, start);
+                    logger.debug("Waited " + (System.nanoTime() - start) / 1_000_000 + " ms for " + description);
+                    return value;
+                }
+            } catch (NotFoundException | StaleElementReferenceException e) {
+                lastException = e;
+            }
+
+            long remainingMillis = (deadline - System.nanoTime()) / 1_000_000;
+            if (remainingMillis <= 0) {
+                MetricsRegistry.recordSince(metric, start);
+                MetricsRegistry.increment("wait.timeouts");
+                throw new TimeoutException("Expected condition failed: waiting for " + description + " (tried for "
+                        + timeout.getSeconds() + " second(s) with " + pollIntervalMillis + " ms initial polling)",
+                        lastException);
+            }
+
+            try {
+                Thread.sleep(Math.min(interval, remainingMillis));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for " + description, e);
+            }
+            interval = Math.min((long) (interval * backoff), maxPollIntervalMillis);
+        }
+    }
+
+    public static void logStatistics() {
+        logger.info("Wait timings per page object:" + MetricsRegistry.summary("wait."));
+    }
+}
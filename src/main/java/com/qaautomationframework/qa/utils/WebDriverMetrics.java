@@ -0,0 +1,252 @@
+package com.qaautomationframework.qa.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.qaautomationframework.qa.config.ConfigReader;
+import org.HdrHistogram.Histogram;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every WebDriver and WebElement call made through a decorated driver, by command
+ * (e.g. WebElement.click), by the locator the element was found with, by the page object that made the call
+ * and by scenario. Only drivers passed through {@link #decorate(WebDriver)} are measured, and nothing is
+ * decorated unless driver.metrics.enabled=true, so a disabled run calls the browser directly.
+ */
+public class WebDriverMetrics implements WebDriverListener {
+    private static final Logger logger = LogManager.getLogger(WebDriverMetrics.class);
+    private static final String PAGES_PACKAGE = "com.qaautomationframework.qa.pages.";
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+    private static final WebDriverMetrics LISTENER = new WebDriverMetrics();
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private static final ThreadLocal<Deque<Long>> callStarts = ThreadLocal.withInitial(ArrayDeque::new);
+    private static final ThreadLocal<ScenarioMetrics> currentScenario = new ThreadLocal<>();
+    private static final ConcurrentMap<String, Map<String, Object>> scenarioSummaries = new ConcurrentSkipListMap<>();
+    private static final Map<WebElement, String> elementLocators = Collections.synchronizedMap(new WeakHashMap<>());
+
+    public static boolean isEnabled() {
+        return ConfigReader.isDriverMetricsEnabled();
+    }
+
+    /**
+     * The driver wrapped in a listener that times every call, or the driver itself when metrics are disabled
+     */
+    public static WebDriver decorate(WebDriver driver) {
+        if (!isEnabled()) {
+            return driver;
+        }
+        return new EventFiringDecorator<>(LISTENER).decorate(driver);
+    }
+
+    /**
+     * Start collecting the calls made on this thread for a new scenario
+     */
+    public static void startScenario() {
+        if (isEnabled()) {
+            currentScenario.set(new ScenarioMetrics());
+        }
+    }
+
+    /**
+     * Stop collecting for the scenario running on this thread and return its breakdown as JSON, or null
+     * when metrics are disabled
+     */
+    public static byte[] finishScenario(String scenarioName) {
+        ScenarioMetrics scenario = currentScenario.get();
+        currentScenario.remove();
+        if (scenario == null) {
+            return null;
+        }
+        Map<String, Object> summary = scenario.summarize();
+        String key = ThreadContext.get("scenario") != null ? ThreadContext.get("scenario") : scenarioName;
+        scenarioSummaries.put(key, summary);
+        try {
+            return mapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(summary);
+        } catch (JsonProcessingException e) {
+            logger.warn("Could not serialize WebDriver metrics: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Write commands, locators, page objects and scenarios to driver.metrics.output
+     */
+    public static void writeReport() {
+        if (!isEnabled() || MetricsRegistry.getTimers("webdriver.command.").isEmpty()) {
+            return;
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("commands", describe("webdriver.command."));
+        report.put("errors", MetricsRegistry.getCounters("webdriver.error."));
+        report.put("locators", describe("webdriver.locator."));
+        Map<String, Object> pages = new TreeMap<>();
+        MetricsRegistry.getTimers("webdriver.page.").forEach((name, histogram) -> {
+            String pageAndCommand = name.substring("webdriver.page.".length());
+            int separator = pageAndCommand.indexOf('/');
+            @SuppressWarnings("unchecked")
+            Map<String, Object> commands = (Map<String, Object>) pages.computeIfAbsent(
+                    pageAndCommand.substring(0, separator), page -> new TreeMap<String, Object>());
+            commands.put(pageAndCommand.substring(separator + 1), MetricsRegistry.describe(histogram));
+        });
+        report.put("pages", pages);
+        report.put("scenarios", scenarioSummaries);
+
+        File output = new File(ConfigReader.getDriverMetricsOutput());
+        try {
+            if (output.getAbsoluteFile().getParentFile() != null) {
+                output.getAbsoluteFile().getParentFile().mkdirs();
+            }
+            mapper.writerWithDefaultPrettyPrinter().writeValue(output, report);
+            logger.info("WebDriver command metrics written to " + output.getPath() + ":"
+                    + MetricsRegistry.summary("webdriver.command."));
+        } catch (IOException e) {
+            logger.warn("Could not write WebDriver metrics: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        callStarts.get().push(System.nanoTime());
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        record(target, method, args, false);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        record(target, method, args, true);
+    }
+
+    @Override
+    public void afterFindElement(WebDriver driver, By locator, WebElement result) {
+        elementLocators.put(result, locator.toString());
+    }
+
+    @Override
+    public void afterFindElements(WebDriver driver, By locator, List<WebElement> result) {
+        result.forEach(element -> elementLocators.put(element, locator.toString()));
+    }
+
+    @Override
+    public void afterFindElement(WebElement element, By locator, WebElement result) {
+        elementLocators.put(result, locator.toString());
+    }
+
+    @Override
+    public void afterFindElements(WebElement element, By locator, List<WebElement> result) {
+        result.forEach(found -> elementLocators.put(found, locator.toString()));
+    }
+
+    private void record(Object target, Method method, Object[] args, boolean failed) {
+        Long start = callStarts.get().poll();
+        if (start == null || method.getDeclaringClass() == Object.class) {
+            return;
+        }
+        long nanos = System.nanoTime() - start;
+        String command = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        MetricsRegistry.recordNanos("webdriver.command." + command, nanos);
+        if (failed) {
+            MetricsRegistry.increment("webdriver.error." + command);
+        }
+
+        String locator = null;
+        if (args != null && args.length > 0 && args[0] instanceof By) {
+            locator = args[0].toString();
+        } else if (target instanceof WebElement) {
+            locator = elementLocators.get(target);
+        }
+        if (locator != null) {
+            MetricsRegistry.recordNanos("webdriver.locator." + locator, nanos);
+        }
+        MetricsRegistry.recordNanos("webdriver.page." + callingPage() + "/" + command, nanos);
+
+        ScenarioMetrics scenario = currentScenario.get();
+        if (scenario != null) {
+            scenario.add(command, nanos);
+        }
+    }
+
+    // Innermost page object on the stack; step definitions calling the driver directly count as "none"
+    static String callingPage() {
+        return STACK_WALKER.walk(frames -> frames
+                .map(StackWalker.StackFrame::getClassName)
+                .filter(name -> name.startsWith(PAGES_PACKAGE))
+                .findFirst()
+                .map(name -> name.substring(PAGES_PACKAGE.length()).replaceFirst("\\$.*", ""))
+                .orElse("none"));
+    }
+
+    /**
+     * Calls of one scenario; only touched by the thread running it
+     */
+    private static class ScenarioMetrics {
+        private final long startNanos = System.nanoTime();
+        private final Map<String, long[]> commands = new TreeMap<>();
+        private long driverNanos;
+        private long calls;
+
+        private void add(String command, long nanos) {
+            long[] totals = commands.computeIfAbsent(command, key -> new long[2]);
+            totals[0]++;
+            totals[1] += nanos;
+            driverNanos += nanos;
+            calls++;
+        }
+
+        private Map<String, Object> summarize() {
+            long wallNanos = System.nanoTime() - startNanos;
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("wallMs", millis(wallNanos));
+            summary.put("webdriverMs", millis(driverNanos));
+            // Java-side logic plus sleeps between wait polls
+            summary.put("otherMs", millis(wallNanos - driverNanos));
+            summary.put("calls", calls);
+            Map<String, Object> byCommand = new LinkedHashMap<>();
+            commands.forEach((command, totals) -> {
+                Map<String, Object> stats = new LinkedHashMap<>();
+                stats.put("count", totals[0]);
+                stats.put("totalMs", millis(totals[1]));
+                byCommand.put(command, stats);
+            });
+            summary.put("commands", byCommand);
+            return summary;
+        }
+
+        private static double millis(long nanos) {
+            return TimeUnit.NANOSECONDS.toMicros(nanos) / 1000.0;
+        }
+    }
+
+    private static Map<String, Object> describe(String prefix) {
+        Map<String, Object> described = new TreeMap<>();
+        for (Map.Entry<String, Histogram> entry : MetricsRegistry.getTimers(prefix).entrySet()) {
+            described.put(entry.getKey().substring(prefix.length()), MetricsRegistry.describe(entry.getValue()));
+        }
+        return described;
+    }
+}
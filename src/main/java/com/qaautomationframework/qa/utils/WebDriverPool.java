@@ -0,0 +1,250 @@
+package com.qaautomationframework.qa.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.ChromiumDriver;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of warm WebDriver sessions that are reset between scenarios instead of quit
+ */
+public class WebDriverPool {
+    private static final Logger logger = LogManager.getLogger(WebDriverPool.class);
+
+    private final Supplier<WebDriver> factory;
+    private final int maxSize;
+    private final int maxReuse;
+    private final Duration maxAge;
+    private final Duration acquireTimeout;
+    private final Semaphore leases;
+    private final AtomicInteger liveSessions = new AtomicInteger();
+    private final BlockingDeque<PooledSession> idle = new LinkedBlockingDeque<>();
+    private final Map<WebDriver, PooledSession> leased = new ConcurrentHashMap<>();
+    private final ExecutorService warmer = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "driver-pool-warmer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile boolean closed;
+
+    public WebDriverPool(Supplier<WebDriver> factory, int maxSize, int maxReuse, Duration maxAge,
+            Duration acquireTimeout) {
+        this.factory = factory;
+        this.maxSize = maxSize;
+        this.maxReuse = maxReuse;
+        this.maxAge = maxAge;
+        this.acquireTimeout = acquireTimeout;
+        this.leases = new Semaphore(maxSize, true);
+    }
+
+    /**
+     * Start up to count sessions in the background so the first scenarios find a warm browser
+     */
+    public void prewarm(int count) {
+        for (int i = 0; i < Math.min(count, maxSize); i++) {
+            warmer.submit(() -> {
+                if (closed || !leases.tryAcquire()) {
+                    return;
+                }
+                try {
+                    idle.offerLast(create());
+                } catch (RuntimeException e) {
+                    logger.warn("Failed to pre-warm driver session: " + e.getMessage());
+                } finally {
+                    leases.release();
+                }
+            });
+        }
+    }
+
+    /**
+     * Lease a healthy session, reusing an idle one when possible and launching a new browser otherwise
+     */
+    public WebDriver acquire() {
+        if (closed) {
+            throw new IllegalStateException("Driver pool is closed");
+        }
+        long start = System.nanoTime();
+        try {
+            if (!leases.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new RuntimeException("Timed out after " + acquireTimeout.getSeconds()
+                        + "s waiting for a pooled driver session (pool size: " + maxSize + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a pooled driver session", e);
+        }
+
+        try {
+            PooledSession session;
+            while ((session = idle.pollFirst()) != null) {
+                if (isExpired(session)) {
+                    evict(session, "expired after " + session.uses + " uses");
+                } else if (!isHealthy(session)) {
+                    evict(session, "failed health probe");
+                } else {
+                    MetricsRegistry.increment("driver.pool.hit");
+                    return lease(session, start);
+                }
+            }
+
+            MetricsRegistry.increment("driver.pool.miss");
+            return lease(create(), start);
+        } catch (RuntimeException e) {
+            leases.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Return a leased session; it is reset and kept warm unless it exceeded its reuse or age limits or is not a
+     * Chromium session, whose cookies cannot all be cleared
+     */
+    public void release(WebDriver driver) {
+        PooledSession session = leased.remove(driver);
+        if (session == null) {
+            logger.warn("Released driver is not owned by the pool, quitting it");
+            quietlyQuit(driver);
+            return;
+        }
+
+        try {
+            session.uses++;
+            if (closed || isExpired(session) || liveSessions.get() > maxSize) {
+                evict(session, closed ? "pool closed" : "retired after " + session.uses + " uses");
+                return;
+            }
+            if (!canClearAllCookies(session.driver)) {
+                // deleteAllCookies() only reaches the current domain, so the next scenario could inherit a login
+                evict(session, "cookies of every domain cannot be cleared on "
+                        + session.driver.getClass().getSimpleName());
+                return;
+            }
+
+            long start = System.nanoTime();
+            try {
+                reset(session.driver);
+            } catch (WebDriverException e) {
+                evict(session, "reset failed: " + e.getMessage());
+                return;
+            }
+            MetricsRegistry.recordSince("driver.pool.reset", start);
+            idle.offerFirst(session);
+        } finally {
+            leases.release();
+        }
+    }
+
+    /**
+     * Quit every idle session and any session never given back, then log the pool statistics
+     */
+    public void close() {
+        closed = true;
+        warmer.shutdownNow();
+        PooledSession session;
+        while ((session = idle.pollFirst()) != null) {
+            evict(session, "pool closed");
+        }
+        for (PooledSession abandoned : leased.values()) {
+            evict(abandoned, "pool closed while leased");
+        }
+        leased.clear();
+        logger.info("Driver pool statistics:" + MetricsRegistry.summary("driver.pool"));
+    }
+
+    private WebDriver lease(PooledSession session, long start) {
+        leased.put(session.driver, session);
+        MetricsRegistry.recordSince("driver.pool.acquire", start);
+        logger.info("Leased pooled driver (use " + (session.uses + 1) + " of " + maxReuse + ")");
+        return session.driver;
+    }
+
+    private PooledSession create() {
+        long start = System.nanoTime();
+        WebDriver driver = factory.get();
+        MetricsRegistry.recordSince("driver.pool.create", start);
+        liveSessions.incrementAndGet();
+        return new PooledSession(driver);
+    }
+
+    private boolean isExpired(PooledSession session) {
+        return session.uses >= maxReuse
+                || System.nanoTime() - session.createdAt > maxAge.toNanos();
+    }
+
+    private boolean isHealthy(PooledSession session) {
+        try {
+            session.driver.getWindowHandle();
+            return true;
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Only Chromium exposes a command that clears the cookies of every domain, not just the current one
+     */
+    private static boolean canClearAllCookies(WebDriver driver) {
+        return driver instanceof ChromiumDriver;
+    }
+
+    private void reset(WebDriver driver) {
+        String mainWindow = null;
+        for (String handle : driver.getWindowHandles()) {
+            if (mainWindow == null) {
+                mainWindow = handle;
+            } else {
+                driver.switchTo().window(handle).close();
+            }
+        }
+        driver.switchTo().window(mainWindow);
+
+        try {
+            ((JavascriptExecutor) driver).executeScript(
+                    "window.localStorage.clear(); window.sessionStorage.clear();");
+        } catch (WebDriverException e) {
+            logger.debug("Storage not accessible on current page: " + e.getMessage());
+        }
+        ((ChromiumDriver) driver).executeCdpCommand("Network.clearBrowserCookies", Map.of());
+        driver.get("about:blank");
+    }
+
+    private void evict(PooledSession session, String reason) {
+        logger.info("Evicting pooled driver: " + reason);
+        MetricsRegistry.increment("driver.pool.evicted");
+        liveSessions.decrementAndGet();
+        quietlyQuit(session.driver);
+    }
+
+    private void quietlyQuit(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (WebDriverException e) {
+            logger.warn("Failed to quit driver: " + e.getMessage());
+        }
+    }
+
+    private static class PooledSession {
+        private final WebDriver driver;
+        private final long createdAt = System.nanoTime();
+        private int uses;
+
+        private PooledSession(WebDriver driver) {
+            this.driver = driver;
+        }
+    }
+}
@@ -7,19 +7,52 @@ import org.openqa.selenium.*;
 import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.Select;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
 import java.util.List;
 
 public class WebElementUtils {
     private static final Logger logger = LogManager.getLogger(WebElementUtils.class);
-    private static final int EXPLICIT_WAIT = ConfigReader.getExplicitWait();
+    private static final long DOM_QUIET_WINDOW_MS = ConfigReader.getDomQuietWindow();
+    private static final long DOM_SETTLE_TIMEOUT_MS = ConfigReader.getDomSettleTimeout();
+    private static final long DOM_SETTLE_FALLBACK_MS = ConfigReader.getDomSettleFallback();
+
+    private static final String NETWORK_PROBE_SCRIPT =
+            "if (window.__qaPendingRequests !== undefined) { return; }"
+            + "window.__qaPendingRequests = 0;"
+            + "var send = XMLHttpRequest.prototype.send;"
+            + "XMLHttpRequest.prototype.send = function () {"
+            + "  window.__qaPendingRequests++;"
+            + "  this.addEventListener('loadend', function () { window.__qaPendingRequests--; });"
+            + "  return send.apply(this, arguments);"
+            + "};"
+            + "if (window.fetch) {"
+            + "  var originalFetch = window.fetch;"
+            + "  window.fetch = function () {"
+            + "    window.__qaPendingRequests++;"
+            + "    return originalFetch.apply(this, arguments).finally(function () { window.__qaPendingRequests--; });"
+            + "  };"
+            + "}";
+
+    // Only nodes being added or removed count as change: attribute and text updates (carousels, timers,
+    // lazy-loaded images) go on indefinitely on a product listing and would keep the wait from ever ending
+    private static final String DOM_SETTLE_SCRIPT =
+            "var quietMs = arguments[0], timeoutMs = arguments[1], done = arguments[arguments.length - 1];"
+            + "var start = Date.now(), lastChange = start;"
+            + "var observer = new MutationObserver(function () { lastChange = Date.now(); });"
+            + "observer.observe(document, { childList: true, subtree: true });"
+            + "(function check() {"
+            + "  var now = Date.now();"
+            + "  if (document.readyState !== 'complete' || window.__qaPendingRequests > 0) { lastChange = now; }"
+            + "  if (now - lastChange >= quietMs) { observer.disconnect(); done(true); }"
+            + "  else if (now - start >= timeoutMs) { observer.disconnect(); done(false); }"
+            + "  else { setTimeout(check, 25); }"
+            + "})();";
 
     public static WebElement waitForElementToBeClickable(WebDriver driver, By locator) {
         try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(EXPLICIT_WAIT));
-            return wait.until(ExpectedConditions.elementToBeClickable(locator));
+            return WaitEngine.forDriver(driver).until("clickable", locator,
+                    ExpectedConditions.elementToBeClickable(locator));
         } catch (TimeoutException e) {
             logger.error("Element not clickable: " + locator.toString());
             throw e;
@@ -28,8 +61,8 @@ public class WebElementUtils {
 
     public static WebElement waitForElementToBeVisible(WebDriver driver, By locator) {
         try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(EXPLICIT_WAIT));
-            return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+            return WaitEngine.forDriver(driver).until("visible", locator,
+                    ExpectedConditions.visibilityOfElementLocated(locator));
         } catch (TimeoutException e) {
             logger.error("Element not visible: " + locator.toString());
             throw e;
@@ -38,8 +71,8 @@ public class WebElementUtils {
 
     public static List<WebElement> waitForElementsToBeVisible(WebDriver driver, By locator) {
         try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(EXPLICIT_WAIT));
-            return wait.until(ExpectedConditions.visibilityOfAllElementsLocatedBy(locator));
+            return WaitEngine.forDriver(driver).until("all visible", locator,
+                    ExpectedConditions.visibilityOfAllElementsLocatedBy(locator));
         } catch (TimeoutException e) {
             logger.error("Elements not visible: " + locator.toString());
             throw e;
@@ -140,9 +173,23 @@ public class WebElementUtils {
         }
     }
 
+    /**
+     * Whether the element becomes visible within the timeout; for elements that may legitimately never show
+     * up, where waiting the full explicit.wait would slow down every run without them
+     */
+    public static boolean isElementDisplayed(WebDriver driver, By locator, Duration timeout) {
+        try {
+            WaitEngine.forDriver(driver).until("displayed", locator,
+                    ExpectedConditions.visibilityOfElementLocated(locator), timeout);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+
     public static void waitForElementToDisappear(WebDriver driver, By locator) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(EXPLICIT_WAIT));
-        wait.until(ExpectedConditions.invisibilityOfElementLocated(locator));
+        WaitEngine.forDriver(driver).until("invisible", locator,
+                ExpectedConditions.invisibilityOfElementLocated(locator));
         logger.info("Element disappeared: " + locator.toString());
     }
 
@@ -160,6 +207,8 @@ public class WebElementUtils {
         List<WebElement> elements = waitForElementsToBeVisible(driver, locator);
         int totalElements = elements.size();
         int clickedCount = 0;
+        long settleMillis = 0;
+        int settleWaits = 0;
 
         while (clickedCount < totalElements) {
             int attempts = 0;
@@ -175,6 +224,7 @@ public class WebElementUtils {
 
                     WebElement element = currentElements.get(0);
                     scrollToElement(driver, element);
+                    installNetworkProbe(driver);
                     try {
                         element.click();
                     } catch (ElementNotInteractableException e) {
@@ -186,12 +236,8 @@ public class WebElementUtils {
                     clickedCount++;
                     logger.info("Clicked element " + clickedCount + " of " + totalElements);
 
-                    // Wait for DOM to stabilize after click
-                    try {
-                        Thread.sleep(1000);
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                    }
+                    settleMillis += waitForDomToSettle(driver);
+                    settleWaits++;
 
                 } catch (StaleElementReferenceException | ElementClickInterceptedException e) {
                     attempts++;
@@ -200,16 +246,58 @@ public class WebElementUtils {
                         throw new RuntimeException("Failed to click element", e);
                     }
                     logger.warn("Retry attempt " + attempts);
-                    try {
-                        Thread.sleep(1000);
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                    }
+                    settleMillis += waitForDomToSettle(driver);
+                    settleWaits++;
                 }
             }
         }
 
-        logger.info("Clicked all " + totalElements + " elements matching: " + locator.toString());
+        logger.info("Clicked all " + totalElements + " elements matching: " + locator.toString()
+                + " (DOM stabilization took " + settleMillis + " ms over " + settleWaits + " waits)");
+    }
+
+    /**
+     * Count in-flight fetch/XHR requests on the current page so waitForDomToSettle can also wait for
+     * network idle. Idempotent; call it before the action whose side effects should be awaited.
+     */
+    public static void installNetworkProbe(WebDriver driver) {
+        try {
+            ((JavascriptExecutor) driver).executeScript(NETWORK_PROBE_SCRIPT);
+        } catch (WebDriverException e) {
+            logger.debug("Could not install network probe: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Block until no nodes have been added or removed and no tracked requests have run for
+     * dom.quiet.window.ms, or until dom.settle.timeout.ms. Falls back to a bounded sleep when the probe cannot
+     * run. Time spent, timeouts and fallbacks are recorded under wait.dom.settle.
+     *
+     * @return the time spent waiting in milliseconds
+     */
+    public static long waitForDomToSettle(WebDriver driver) {
+        long start = System.nanoTime();
+        try {
+            Object settled = ((JavascriptExecutor) driver).executeAsyncScript(DOM_SETTLE_SCRIPT,
+                    DOM_QUIET_WINDOW_MS, DOM_SETTLE_TIMEOUT_MS);
+            if (!Boolean.TRUE.equals(settled)) {
+                MetricsRegistry.increment("wait.dom.settle.timeouts");
+                logger.warn("DOM still changing after " + DOM_SETTLE_TIMEOUT_MS + " ms, continuing");
+            }
+        } catch (WebDriverException e) {
+            MetricsRegistry.increment("wait.dom.settle.fallbacks");
+            logger.warn("DOM stabilization probe failed, falling back to " + DOM_SETTLE_FALLBACK_MS
+                    + " ms sleep: " + e.getMessage());
+            try {
+                Thread.sleep(DOM_SETTLE_FALLBACK_MS);
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        MetricsRegistry.recordSince("wait.dom.settle", start);
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+        logger.debug("DOM stabilization wait took " + elapsed + " ms");
+        return elapsed;
     }
 
 }
@@ -2,6 +2,7 @@ package com.qaautomationframework.qa.runners;
 
 import io.cucumber.testng.AbstractTestNGCucumberTests;
 import io.cucumber.testng.CucumberOptions;
+import org.testng.annotations.DataProvider;
 
 @CucumberOptions(
         features = "src/test/resources/features/UserApi.feature",
@@ -10,10 +11,17 @@ import io.cucumber.testng.CucumberOptions;
                 "pretty",
                 "html:target/cucumber-reports/api-cucumber.html",
                 "json:target/cucumber-reports/api-cucumber.json",
-                "io.qameta.allure.cucumber7jvm.AllureCucumber7Jvm"
+                "io.qameta.allure.cucumber7jvm.AllureCucumber7Jvm",
+                "com.qaautomationframework.qa.runners.ScenarioDurationPlugin"
         },
         tags = "@api",
         monochrome = true,
         dryRun = false)
 public class ApiRunner extends AbstractTestNGCucumberTests {
+
+    @Override
+    @DataProvider(parallel = true)
+    public Object[][] scenarios() {
+        return ScenarioDurationPlugin.longestFirst(super.scenarios());
+    }
 }
@@ -0,0 +1,25 @@
+package com.qaautomationframework.qa.runners;
+
+import com.qaautomationframework.qa.config.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+
+import java.util.List;
+
+/**
+ * Sizes the data provider thread pool that runs the parallel scenarios() of the Cucumber runners
+ */
+public class ParallelExecutionListener implements IAlterSuiteListener {
+    private static final Logger logger = LogManager.getLogger(ParallelExecutionListener.class);
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        int threads = ConfigReader.isParallelEnabled() ? ConfigReader.getParallelThreads() : 1;
+        for (XmlSuite suite : suites) {
+            suite.setDataProviderThreadCount(threads);
+        }
+        logger.info("Scenario execution threads: " + threads);
+    }
+}
@@ -0,0 +1,93 @@
+package com.qaautomationframework.qa.runners;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.testng.PickleWrapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records scenario durations between runs and orders scenarios longest-first for parallel scheduling
+ */
+public class ScenarioDurationPlugin implements ConcurrentEventListener {
+    private static final Logger logger = LogManager.getLogger(ScenarioDurationPlugin.class);
+    private static final Path HISTORY_FILE = Paths.get("test-output", "scenario-durations.properties");
+
+    private final Map<String, Long> durations = new ConcurrentHashMap<>();
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onTestCaseFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, event -> saveHistory(durations));
+    }
+
+    private void onTestCaseFinished(TestCaseFinished event) {
+        TestCase testCase = event.getTestCase();
+        durations.put(key(testCase.getUri(), testCase.getLocation().getLine()),
+                event.getResult().getDuration().toMillis());
+    }
+
+    /**
+     * Sort the scenarios provided by AbstractTestNGCucumberTests so the slowest start first.
+     * Scenarios without history are treated as the slowest, so a new scenario never ends up in the tail.
+     */
+    public static Object[][] longestFirst(Object[][] scenarios) {
+        Properties history = loadHistory();
+        Object[][] ordered = scenarios.clone();
+        Arrays.sort(ordered, Comparator.comparingLong((Object[] scenario) -> {
+            PickleWrapper pickle = (PickleWrapper) scenario[0];
+            String duration = history.getProperty(key(pickle.getPickle().getUri(), pickle.getPickle().getLine()));
+            return duration != null ? Long.parseLong(duration) : Long.MAX_VALUE;
+        }).reversed());
+        return ordered;
+    }
+
+    private static String key(URI uri, int line) {
+        String path = uri.getSchemeSpecificPart();
+        return path.substring(path.lastIndexOf('/') + 1) + ":" + line;
+    }
+
+    private static Properties loadHistory() {
+        Properties history = new Properties();
+        if (Files.exists(HISTORY_FILE)) {
+            try (InputStream in = Files.newInputStream(HISTORY_FILE)) {
+                history.load(in);
+            } catch (IOException e) {
+                logger.warn("Could not read scenario duration history: " + e.getMessage());
+            }
+        }
+        return history;
+    }
+
+    private static synchronized void saveHistory(Map<String, Long> durations) {
+        if (durations.isEmpty()) {
+            return;
+        }
+        Properties history = loadHistory();
+        durations.forEach((key, millis) -> history.setProperty(key, String.valueOf(millis)));
+        try {
+            Files.createDirectories(HISTORY_FILE.getParent());
+            try (OutputStream out = Files.newOutputStream(HISTORY_FILE)) {
+                history.store(out, "Scenario durations in milliseconds, used for longest-first scheduling");
+            }
+        } catch (IOException e) {
+            logger.warn("Could not write scenario duration history: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.qaautomationframework.qa.runners;
+
+import com.qaautomationframework.qa.config.ConfigReader;
+import com.qaautomationframework.qa.utils.ApiUtils;
+import io.cucumber.testng.CucumberOptions;
+import io.cucumber.testng.PickleWrapper;
+import io.cucumber.testng.TestNGCucumberRunner;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.SkipException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Runs every @api scenario at once, each on its own virtual thread, instead of through the fixed size
+ * TestNG data provider pool used by {@link ApiRunner}. API scenarios spend nearly all their time waiting
+ * on HTTP, so the concurrency is bounded by api.http.max.connections.per.route rather than by threads.
+ * Falls back to parallel.threads platform threads when not running on Java 21. Not yet measured against
+ * ApiRunner; see ScenarioExecutorBenchmark.
+ */
+@CucumberOptions(
+        features = "src/test/resources/features/UserApi.feature",
+        glue = {"com.qaautomationframework.qa.stepdefinitions"},
+        plugin = {
+                "html:target/cucumber-reports/api-cucumber.html",
+                "json:target/cucumber-reports/api-cucumber.json",
+                "io.qameta.allure.cucumber7jvm.AllureCucumber7Jvm",
+                "com.qaautomationframework.qa.runners.ScenarioDurationPlugin"
+        },
+        tags = "@api",
+        monochrome = true,
+        dryRun = false)
+public class VirtualThreadApiRunner {
+    private static final Logger logger = LogManager.getLogger(VirtualThreadApiRunner.class);
+
+    private TestNGCucumberRunner cucumber;
+
+    @BeforeClass(alwaysRun = true)
+    public void setUpClass() {
+        cucumber = new TestNGCucumberRunner(getClass());
+    }
+
+    @Test(description = "Runs all @api scenarios concurrently on virtual threads")
+    public void runScenarios() throws InterruptedException {
+        Object[][] scenarios = ScenarioDurationPlugin.longestFirst(cucumber.provideScenarios());
+        // Initialize ApiUtils (base URI, HTTP pool, stub) up front: a virtual thread that waits for another
+        // thread to finish a class initializer pins its carrier thread
+        ApiUtils.getRequestSpec();
+
+        ExecutorService executor;
+        if (ScenarioExecutors.virtualThreadsAvailable()) {
+            executor = ScenarioExecutors.newVirtualThreadExecutor();
+            logger.info("Running " + scenarios.length + " scenarios on virtual threads");
+        } else {
+            executor = ScenarioExecutors.newPlatformThreadExecutor(ConfigReader.getParallelThreads());
+            logger.warn("Virtual threads need Java 21, running " + scenarios.length + " scenarios on "
+                    + ConfigReader.getParallelThreads() + " platform threads");
+        }
+
+        Map<String, Future<?>> results = new LinkedHashMap<>();
+        for (Object[] scenario : scenarios) {
+            PickleWrapper pickle = (PickleWrapper) scenario[0];
+            results.put(pickle.getPickle().getName() + " (line " + pickle.getPickle().getLine() + ")",
+                    executor.submit(() -> cucumber.runScenario(pickle.getPickle())));
+        }
+        executor.shutdown();
+
+        List<String> failures = new ArrayList<>();
+        int skipped = 0;
+        for (Map.Entry<String, Future<?>> result : results.entrySet()) {
+            try {
+                result.getValue().get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof SkipException) {
+                    skipped++;
+                } else {
+                    failures.add(result.getKey() + ": " + e.getCause());
+                }
+            }
+        }
+        logger.info("Scenarios passed: " + (results.size() - failures.size() - skipped) + ", failed: "
+                + failures.size() + ", skipped: " + skipped);
+        if (!failures.isEmpty()) {
+            throw new AssertionError(failures.size() + " of " + results.size() + " scenarios failed:"
+                    + System.lineSeparator() + String.join(System.lineSeparator(), failures));
+        }
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDownClass() {
+        if (cucumber != null) {
+            cucumber.finish();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.qaautomationframework.qa.stepdefinitions;
+
+import io.cucumber.java.After;
+import io.cucumber.java.Before;
+import io.cucumber.java.Scenario;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Tags every log event of a scenario with the "scenario" ThreadContext key so log4j2.xml routes it to
+ * test-output/scenarios/&lt;scenario&gt;.log, and attaches that file to the report when the scenario fails.
+ */
+public class ScenarioLogHooks {
+
+    private static final Logger logger = LogManager.getLogger(ScenarioLogHooks.class);
+    private static final Path SCENARIO_LOG_DIR = Paths.get("test-output", "scenarios");
+    private static final long FLUSH_TIMEOUT_MS = 2000;
+
+    private String scenarioKey;
+
+    @Before(order = 0)
+    public void startScenarioLog(Scenario scenario) {
+        scenarioKey = scenario.getName().replaceAll("[^A-Za-z0-9]+", "_") + "_line" + scenario.getLine();
+        ThreadContext.put("scenario", scenarioKey);
+        logger.info("Scenario started: {}", scenario.getName());
+    }
+
+    @After(order = 0)
+    public void finishScenarioLog(Scenario scenario) {
+        String endMarker = "Scenario finished: " + scenario.getName() + " [" + scenario.getStatus() + "]";
+        logger.info(endMarker);
+        ThreadContext.remove("scenario");
+
+        if (scenario.isFailed()) {
+            byte[] log = readWhenFlushed(SCENARIO_LOG_DIR.resolve(scenarioKey + ".log"), endMarker);
+            if (log != null) {
+                scenario.attach(log, "text/plain", "Scenario log");
+            }
+        }
+    }
+
+    /**
+     * Logging is asynchronous, so wait until the background thread has written the end marker
+     */
+    private byte[] readWhenFlushed(Path logFile, String endMarker) {
+        long deadline = System.currentTimeMillis() + FLUSH_TIMEOUT_MS;
+        byte[] content = null;
+        while (System.currentTimeMillis() < deadline) {
+            try {
+                if (Files.exists(logFile)) {
+                    content = Files.readAllBytes(logFile);
+                    if (new String(content, StandardCharsets.UTF_8).contains(endMarker)) {
+                        return content;
+                    }
+                }
+                Thread.sleep(50);
+            } catch (IOException e) {
+                logger.warn("Could not read scenario log {}: {}", logFile, e.getMessage());
+                return content;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return content;
+            }
+        }
+        return content;
+    }
+}
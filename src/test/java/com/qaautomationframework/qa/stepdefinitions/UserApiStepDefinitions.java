@@ -4,6 +4,11 @@ import com.qaautomationframework.qa.api.endpoints.ApiEndpoints;
 import com.qaautomationframework.qa.api.pojos.User;
 import com.qaautomationframework.qa.api.pojos.UserResponse;
 import com.qaautomationframework.qa.utils.ApiUtils;
+import com.qaautomationframework.qa.utils.BatchResult;
+import com.qaautomationframework.qa.utils.HttpClientPool;
+import com.qaautomationframework.qa.utils.ParsedResponse;
+import com.qaautomationframework.qa.utils.RetryPolicy;
+import io.cucumber.java.AfterAll;
 import io.cucumber.java.Before;
 import io.cucumber.java.en.Given;
 import io.cucumber.java.en.Then;
@@ -12,19 +17,37 @@ import io.restassured.response.Response;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
 public class UserApiStepDefinitions {
 
     private static final Logger logger = LogManager.getLogger(UserApiStepDefinitions.class);
 
     private User testUser;
     private Response apiResponse;
+    private ParsedResponse parsedResponse;
     private String requestBody;
+    private BatchResult<?> batchResult;
+    private final List<String> createdUserIds = new ArrayList<>();
+    private final List<CompletableFuture<Response>> pendingResponses = new ArrayList<>();
+    private List<Response> asyncResponses;
 
     @Before
     public void setUp() {
         logger.info("========== Starting API Test Scenario ==========");
     }
 
+    @AfterAll
+    public static void logHttpClientStatistics() {
+        HttpClientPool.logStatistics();
+        ParsedResponse.logStatistics();
+        RetryPolicy.logStatistics();
+    }
+
     @Given("API base URL is configured")
     public void apiBaseUrlIsConfigured() {
         logger.info("API Base URL is configured and ready");
@@ -47,16 +70,19 @@ public class UserApiStepDefinitions {
         } else {
             apiResponse = ApiUtils.post(ApiEndpoints.CREATE_USER, testUser);
         }
+        parsedResponse = ParsedResponse.of(apiResponse);
     }
 
     @When("Send a GET request to retrieve user with ID {string}")
     public void sendAGetRequestToRetrieveUserWithId(String userId) {
         apiResponse = ApiUtils.get(ApiEndpoints.GET_USER, userId);
+        parsedResponse = ParsedResponse.of(apiResponse);
     }
 
     @When("Send a PUT request to update user with ID {string}")
     public void sendAPutRequestToUpdateUserWithId(String userId) {
         apiResponse = ApiUtils.put(ApiEndpoints.UPDATE_USER, userId, testUser);
+        parsedResponse = ParsedResponse.of(apiResponse);
     }
 
     @Then("Response status code should be {int}")
@@ -66,44 +92,42 @@ public class UserApiStepDefinitions {
 
     @Then("Response should contain user ID")
     public void responseShouldContainUserId() {
-        User createdUser = apiResponse.as(User.class);
+        User createdUser = parsedResponse.as(User.class);
         assert createdUser.getId() != null : "User ID should not be null";
     }
 
     @Then("Response should contain name {string}")
     public void responseShouldContainName(String expectedName) {
-        User user = apiResponse.as(User.class);
+        User user = parsedResponse.as(User.class);
         assert user.getName().equals(expectedName) : "Expected name: " + expectedName + " but got: " + user.getName();
     }
 
     @Then("Response should contain job {string}")
     public void responseShouldContainJob(String expectedJob) {
-        User user = apiResponse.as(User.class);
+        User user = parsedResponse.as(User.class);
         assert user.getJob().equals(expectedJob) : "Expected job: " + expectedJob + " but got: " + user.getJob();
     }
 
     @Then("Response should contain createdAt timestamp")
     public void responseShouldContainCreatedAtTimestamp() {
-        User user = apiResponse.as(User.class);
+        User user = parsedResponse.as(User.class);
         assert user.getCreatedAt() != null : "CreatedAt timestamp should not be null";
     }
 
     @Then("Response should contain updatedAt timestamp")
     public void responseShouldContainUpdatedAtTimestamp() {
-        User user = apiResponse.as(User.class);
+        User user = parsedResponse.as(User.class);
         assert user.getUpdatedAt() != null : "UpdatedAt timestamp should not be null";
     }
 
     @Then("Response should contain user data")
     public void responseShouldContainUserData() {
-        UserResponse userResponse = apiResponse.as(UserResponse.class);
-        UserResponse.UserData userData = userResponse.getData();
-        assert userData != null : "User data should not be null";
+        assert parsedResponse.hasField("/data") : "User data should not be null";
     }
 
     @Then("User should have first name and last name")
     public void userShouldHaveFirstNameAndLastName() {
-        UserResponse userResponse = apiResponse.as(UserResponse.class);
+        UserResponse userResponse = parsedResponse.as(UserResponse.class);
         UserResponse.UserData userData = userResponse.getData();
         assert userData.getFirstName() != null : "First name should not be null";
         assert userData.getLastName() != null : "Last name should not be null";
@@ -119,6 +143,7 @@ public class UserApiStepDefinitions {
     @When("Send a DELETE request for user with ID {string}")
     public void sendADeleteRequestForUserWithId(String userId) {
         apiResponse = ApiUtils.delete(ApiEndpoints.DELETE_USER, userId);
+        parsedResponse = ParsedResponse.of(apiResponse);
     }
 
     @Then("Response body should be empty JSON object")
@@ -128,4 +153,71 @@ public class UserApiStepDefinitions {
         logger.info("Empty JSON response body validated");
     }
 
+    @When("Send a batch POST request to create {int} users")
+    public void sendABatchPostRequestToCreateUsers(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            users.add(new User("Batch User " + i, "QA Automation Engineer", 20 + i % 40));
+        }
+        BatchResult<User> result = ApiUtils.postAll(ApiEndpoints.CREATE_USER, users);
+        for (BatchResult.Item<User> item : result.getItems()) {
+            if (item.isSuccess()) {
+                createdUserIds.add(ParsedResponse.of(item.getResponse()).as(User.class).getId());
+            }
+        }
+        batchResult = result;
+    }
+
+    @When("Send a batch GET request for user IDs {string}")
+    public void sendABatchGetRequestForUserIds(String userIds) {
+        batchResult = ApiUtils.getAll(ApiEndpoints.GET_USER, Arrays.asList(userIds.split("\\s*,\\s*")));
+    }
+
+    @When("Send a batch DELETE request for the created users")
+    public void sendABatchDeleteRequestForTheCreatedUsers() {
+        batchResult = ApiUtils.deleteAll(ApiEndpoints.DELETE_USER, createdUserIds);
+    }
+
+    @Then("Every batch response status code should be {int}")
+    public void everyBatchResponseStatusCodeShouldBe(int expectedStatusCode) {
+        List<? extends BatchResult.Item<?>> mismatches = batchResult.withStatusOtherThan(expectedStatusCode);
+        assert mismatches.isEmpty() : mismatches.size() + " of " + batchResult.size()
+                + " batch requests did not return " + expectedStatusCode + ": "
+                + mismatches.stream().map(Object::toString).collect(Collectors.joining(", "));
+        logger.info("Batch status codes validated: " + batchResult);
+    }
+
+    @When("Send async GET requests for user IDs {string}")
+    public void sendAsyncGetRequestsForUserIds(String userIds) {
+        for (String userId : userIds.split("\\s*,\\s*")) {
+            pendingResponses.add(ApiUtils.getAsync(ApiEndpoints.GET_USER, userId));
+        }
+        logger.info("Started " + pendingResponses.size() + " async GET requests");
+    }
+
+    @Then("Every async response status code should be {int}")
+    public void everyAsyncResponseStatusCodeShouldBe(int expectedStatusCode) {
+        for (Response response : awaitAsyncResponses()) {
+            ApiUtils.validateStatusCode(response, expectedStatusCode);
+        }
+    }
+
+    @Then("Every async response should contain user data")
+    public void everyAsyncResponseShouldContainUserData() {
+        for (Response response : awaitAsyncResponses()) {
+            assert ParsedResponse.of(response).hasField("/data") : "User data should not be null";
+        }
+    }
+
+    // Joins the requests started by the async When steps on first use
+    private List<Response> awaitAsyncResponses() {
+        if (asyncResponses == null) {
+            long start = System.nanoTime();
+            asyncResponses = ApiUtils.awaitAll(pendingResponses);
+            logger.info("Joined " + asyncResponses.size() + " async responses after "
+                    + (System.nanoTime() - start) / 1_000_000 + " ms");
+        }
+        return asyncResponses;
+    }
+
 }
@@ -5,14 +5,24 @@ import com.qaautomationframework.qa.pages.AmazonCartPage;
 import com.qaautomationframework.qa.pages.AmazonCheckoutPage;
 import com.qaautomationframework.qa.pages.AmazonLoginPage;
 import com.qaautomationframework.qa.pages.AmazonVideoGamesPage;
+import com.qaautomationframework.qa.utils.DriverBinaryResolver;
 import com.qaautomationframework.qa.utils.DriverManager;
+import com.qaautomationframework.qa.utils.GridScheduler;
+import com.qaautomationframework.qa.utils.LoginStateCache;
+import com.qaautomationframework.qa.utils.PageLoadMetrics;
+import com.qaautomationframework.qa.utils.WaitEngine;
+import com.qaautomationframework.qa.utils.WebDriverMetrics;
 import io.cucumber.java.Before;
 import io.cucumber.java.After;
+import io.cucumber.java.AfterAll;
+import io.cucumber.java.Scenario;
 import io.cucumber.java.en.Given;
 import io.cucumber.java.en.When;
 import io.cucumber.java.en.Then;
 import org.openqa.selenium.WebDriver;
 
+import java.math.BigDecimal;
+
 public class VideoGamesStepDefinitions {
 
     private WebDriver driver;
@@ -20,10 +30,11 @@ public class VideoGamesStepDefinitions {
     private AmazonVideoGamesPage videoGamesPage;
     private AmazonCartPage cartPage;
     private AmazonCheckoutPage checkoutPage;
-    private double cartSubtotal;
+    private BigDecimal cartSubtotal;
 
     @Before("not @api")
     public void setUp() {
+        WebDriverMetrics.startScenario();
         DriverManager.initializeDriver();
         driver = DriverManager.getDriver();
         loginPage = new AmazonLoginPage(driver);
@@ -33,10 +44,27 @@ public class VideoGamesStepDefinitions {
     }
 
     @After("not @api")
-    public void tearDown() {
+    public void tearDown(Scenario scenario) {
+        byte[] driverMetrics = WebDriverMetrics.finishScenario(scenario.getName());
+        if (driverMetrics != null) {
+            scenario.attach(driverMetrics, "application/json", "WebDriver commands");
+        }
         DriverManager.quitDriver();
     }
 
+    @AfterAll
+    public static void shutDownDriverPool() {
+        DriverManager.shutdownPool();
+        WaitEngine.logStatistics();
+        LoginStateCache.logStatistics();
+        PageLoadMetrics.writeReport();
+        DriverBinaryResolver.logStatistics();
+        WebDriverMetrics.writeReport();
+        if (ConfigReader.isRemoteDriver()) {
+            GridScheduler.getInstance().logStatistics();
+        }
+    }
+
     @Given("User opens Amazon website")
     public void userOpensAmazonWebsite() {
         driver.get("https://www.amazon.eg/");
@@ -48,8 +76,12 @@ public class VideoGamesStepDefinitions {
         String url = ConfigReader.getAmazonUrl();
         String email = ConfigReader.getAmazonEmail();
         String password = ConfigReader.getAmazonPassword();
+        if (email == null || password == null) {
+            throw new IllegalStateException("Amazon credentials are not configured; set QA_AMAZON_EMAIL and"
+                    + " QA_AMAZON_PASSWORD (or -Damazon.email / -Damazon.password)");
+        }
 
-        loginPage.login(url, email, password);
+        loginPage.loginWithSessionCache(url, email, password);
     }
 
     @When("User navigates to Video Games category")
@@ -89,8 +121,8 @@ public class VideoGamesStepDefinitions {
     public void userValidatesItemsTotalAgainstCartTotal() {
         cartPage.navigateToCart();
 
-        double itemsTotal = cartPage.getItemsTotal();
-        double cartTotal = cartPage.getCartTotal();
+        BigDecimal itemsTotal = cartPage.getItemsTotal();
+        BigDecimal cartTotal = cartPage.getCartTotal();
 
         System.out.println("Items Total: " + itemsTotal + " EGP");
         System.out.println("Cart Total: " + cartTotal + " EGP");
@@ -121,15 +153,15 @@ public class VideoGamesStepDefinitions {
 
     @Then("User verifies total amount matches items total plus shipping fees")
     public void userVerifiesTotalAmountMatchesItemsTotalPlusShippingFees() {
-        double shippingFee = checkoutPage.getShippingFee();
-        double orderTotal = checkoutPage.getOrderTotal();
+        BigDecimal shippingFee = checkoutPage.getShippingFee();
+        BigDecimal orderTotal = checkoutPage.getOrderTotal();
 
         System.out.println("Cart Subtotal (from cart page): " + cartSubtotal + " EGP");
 
         boolean isValid = checkoutPage.verifyTotalAmount(cartSubtotal);
         assert isValid : "Order total (" + orderTotal + " EGP) does not match cart subtotal ("
                 + cartSubtotal + " EGP) + shipping fee (" + shippingFee + " EGP) = "
-                + (cartSubtotal + shippingFee) + " EGP";
+                + cartSubtotal.add(shippingFee) + " EGP";
     }
 
     @Then("User should delete added products from cart")
@@ -47,3 +47,18 @@ Feature: Reqres API CRUD Operations
   Scenario: Delete a user
     When Send a DELETE request for user with ID "2"
     Then Response status code should be 204
+
+  @api @batch
+  Scenario: Create, retrieve and delete users in batches
+    When Send a batch POST request to create 25 users
+    Then Every batch response status code should be 201
+    When Send a batch GET request for user IDs "1, 2, 3, 4, 5, 6"
+    Then Every batch response status code should be 200
+    When Send a batch DELETE request for the created users
+    Then Every batch response status code should be 204
+
+  @api @async
+  Scenario: Retrieve several users concurrently
+    When Send async GET requests for user IDs "1, 2, 3, 4, 5, 6"
+    Then Every async response status code should be 200
+    And Every async response should contain user data